@@ -2,6 +2,7 @@ plugins {
 	java
 	id("org.springframework.boot") version "3.4.2"
 	id("io.spring.dependency-management") version "1.1.7"
+	id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "dev.rocksdb"
@@ -26,10 +27,12 @@ repositories {
 dependencies {
 	implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-actuator")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
     compileOnly("org.projectlombok:lombok")
 	developmentOnly("org.springframework.boot:spring-boot-devtools")
 
     implementation("org.rocksdb:rocksdbjni:9.10.0")
+    implementation("com.github.luben:zstd-jni:1.5.6-9")
 
 	compileOnly("org.projectlombok:lombok")
 	annotationProcessor("org.projectlombok:lombok")
@@ -47,3 +50,18 @@ dependencies {
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
+
+// Benchmarks in src/jmh, run with ./gradlew jmh. Narrow a run down with
+// -PjmhIncludes=ScanBenchmark.fullScan and -PjmhEntries=10000,100000
+jmh {
+    jmhVersion = "1.37"
+    // The benchmarks generate their databases with TestDatabaseCreator
+    includeTests = true
+    profilers.add("gc")
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.add(it) }
+    providers.gradleProperty("jmhEntries").orNull?.let {
+        benchmarkParameters.put("entries", objects.listProperty<String>().value(it.split(",")))
+    }
+}
@@ -0,0 +1,76 @@
+package dev.rocksdb.explorer.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.util.unit.DataSize;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+import dev.rocksdb.explorer.util.TestDatabaseCreator;
+
+/**
+ * Generated databases shared by the benchmarks. Generating the larger ones
+ * takes minutes, so each archive is kept under
+ * {@code explorer.benchmark.directory} (default {@code build/jmh-databases})
+ * and reused by later forks and runs.
+ */
+final class BenchmarkDatabases {
+    static final Path DIRECTORY = Path.of(System.getProperty("explorer.benchmark.directory", "build/jmh-databases"));
+
+    private BenchmarkDatabases() {
+    }
+
+    /**
+     * Returns the zipped database with {@code entries} keys whose values
+     * are padded by {@code valuePadding} bytes, generating it on first use.
+     */
+    static synchronized Path archive(int entries, int valuePadding) throws Exception {
+        String size = entries + "-" + valuePadding;
+        Path archive = DIRECTORY.resolve("test-rocksdb-" + size + ".zip");
+        if (Files.notExists(archive)) {
+            // Generated aside, so an interrupted run does not leave a truncated archive behind
+            Path staging = Files.createDirectories(DIRECTORY.resolve("staging"));
+            Path generated = TestDatabaseCreator.createTestDatabase(staging, size, entries, valuePadding);
+            Files.move(generated, archive, StandardCopyOption.ATOMIC_MOVE);
+        }
+        return archive;
+    }
+
+    /**
+     * A scratch directory for extracted and cached databases, removed with
+     * {@link #delete} when the trial is over.
+     */
+    static Path newWorkDirectory() throws IOException {
+        return Files.createTempDirectory(Files.createDirectories(DIRECTORY), "work-");
+    }
+
+    /**
+     * Properties that keep everything under {@code work} and lift the size
+     * limits, which the largest databases would otherwise exceed.
+     */
+    static ExplorerProperties properties(Path work) {
+        ExplorerProperties properties = new ExplorerProperties();
+        properties.getCache().setDirectory(work.resolve("cache"));
+        properties.getCache().setMaxSize(DataSize.ofTerabytes(1));
+        properties.getLocal().setAllowedRoots(List.of(work));
+        properties.getUpload().setMaxSize(DataSize.ofTerabytes(1));
+        properties.getSession().setMaxDiskUsage(DataSize.ofTerabytes(1));
+        return properties;
+    }
+
+    static void delete(Path directory) throws IOException {
+        if (Files.notExists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package dev.rocksdb.explorer.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+import dev.rocksdb.explorer.service.ArchiveExtractor;
+import dev.rocksdb.explorer.service.DatabaseSession;
+import dev.rocksdb.explorer.service.DatabaseSessionRegistry;
+import dev.rocksdb.explorer.service.ExtractedArchive;
+import dev.rocksdb.explorer.service.RocksDBService;
+import dev.rocksdb.explorer.util.TestUtils;
+
+/**
+ * The steps between receiving an archive and having a database to read:
+ * extracting it, either while it streams in or from a file on disk, and
+ * opening the extracted directory. Each invocation starts from an empty
+ * target directory, so they are timed one at a time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IngestionBenchmark {
+
+    @Param({"10000", "100000", "1000000", "10000000"})
+    public int entries;
+
+    @Param({"0", "1024"})
+    public int valuePadding;
+
+    private Path work;
+    private Path archive;
+    private String digest;
+    private Path extracted;
+    private Path target;
+    private ArchiveExtractor archiveExtractor;
+    private DatabaseSessionRegistry registry;
+    private RocksDBService rocksDBService;
+    private DatabaseSession opened;
+
+    @Setup(Level.Trial)
+    public void prepare() throws Exception {
+        archive = BenchmarkDatabases.archive(entries, valuePadding);
+        work = BenchmarkDatabases.newWorkDirectory();
+        ExplorerProperties properties = BenchmarkDatabases.properties(work);
+        archiveExtractor = TestUtils.newArchiveExtractor(properties);
+        registry = new DatabaseSessionRegistry(properties);
+        rocksDBService = TestUtils.newRocksDBService(registry, properties, work);
+
+        try (InputStream in = Files.newInputStream(archive)) {
+            digest = ArchiveExtractor.digest(in);
+        }
+        extracted = work.resolve("extracted");
+        archiveExtractor.extract(archive, digest, extracted, ArchiveExtractor.Listener.NONE);
+        target = work.resolve("target");
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTarget() throws IOException {
+        BenchmarkDatabases.delete(target);
+        Files.createDirectories(target);
+    }
+
+    /** Extracting while the archive is read, as for a raw request body. */
+    @Benchmark
+    public ExtractedArchive extractStream() throws IOException {
+        try (InputStream in = Files.newInputStream(archive)) {
+            return archiveExtractor.extract(in, target);
+        }
+    }
+
+    /** Extracting an archive that is already on disk, on several threads. */
+    @Benchmark
+    public ExtractedArchive extractFile() throws IOException {
+        return archiveExtractor.extract(archive, digest, target, ArchiveExtractor.Listener.NONE);
+    }
+
+    /** Opening the extracted database with all of its column families. */
+    @Benchmark
+    public DatabaseSession open() throws IOException {
+        opened = rocksDBService.openLocalDatabase(extracted.toString(), false);
+        return opened;
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeOpened() {
+        if (opened != null) {
+            registry.close(opened.getId());
+            opened = null;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() throws IOException {
+        registry.closeAll();
+        BenchmarkDatabases.delete(work);
+    }
+}
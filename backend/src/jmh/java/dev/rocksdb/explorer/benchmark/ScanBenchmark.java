@@ -0,0 +1,142 @@
+package dev.rocksdb.explorer.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+import dev.rocksdb.explorer.model.EntryFormat;
+import dev.rocksdb.explorer.model.EntryPage;
+import dev.rocksdb.explorer.service.ArchiveExtractor;
+import dev.rocksdb.explorer.service.DatabaseSession;
+import dev.rocksdb.explorer.service.DatabaseSessionRegistry;
+import dev.rocksdb.explorer.service.EntryQueryService;
+import dev.rocksdb.explorer.service.IteratorBuffers;
+import dev.rocksdb.explorer.service.KeyRange;
+import dev.rocksdb.explorer.service.RangeScan;
+import dev.rocksdb.explorer.util.TestUtils;
+
+/**
+ * Reading an open database: iterating over all keys or one prefix, paging
+ * the way the entry browser does, and serializing every entry the way the
+ * dump endpoint does. The database is opened once per trial. Bulk scans do
+ * not fill the block cache, so after warmup they read from the OS page cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ScanBenchmark {
+    private static final int PAGES = 10;
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"10000", "100000", "1000000", "10000000"})
+    public int entries;
+
+    @Param({"0", "1024"})
+    public int valuePadding;
+
+    private Path work;
+    private ExplorerProperties properties;
+    private DatabaseSessionRegistry registry;
+    private EntryQueryService entryQueryService;
+    private String databaseId;
+
+    @Setup(Level.Trial)
+    public void open() throws Exception {
+        Path archive = BenchmarkDatabases.archive(entries, valuePadding);
+        work = BenchmarkDatabases.newWorkDirectory();
+        properties = BenchmarkDatabases.properties(work);
+        registry = new DatabaseSessionRegistry(properties);
+        entryQueryService = new EntryQueryService(registry, properties,
+            TestUtils.newValueDecoders(properties), TestUtils.newPipelineMetrics());
+        databaseId = TestUtils.newRocksDBService(registry, properties, work)
+            .openDatabase(archive, ArchiveExtractor.Listener.NONE)
+            .getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws Exception {
+        registry.closeAll();
+        BenchmarkDatabases.delete(work);
+    }
+
+    /** Every key and value, read through the bulk-scan read options. */
+    @Benchmark
+    public long fullScan(Blackhole blackhole) throws RocksDBException {
+        return scan(KeyRange.ALL, blackhole);
+    }
+
+    /** The {@code user:} keys, a fifth of the database. */
+    @Benchmark
+    public long prefixScan(Blackhole blackhole) throws RocksDBException {
+        return scan(KeyRange.of("user:", null, null), blackhole);
+    }
+
+    /**
+     * Ten pages of previews from the middle of the key space. The cost
+     * should not grow with the size of the database.
+     */
+    @Benchmark
+    public int paginatedScan(Blackhole blackhole) throws RocksDBException {
+        String after = "metric:";
+        int pages = 0;
+        for (; pages < PAGES && after != null; pages++) {
+            EntryPage page = entryQueryService.listEntries(databaseId, null, KeyRange.ALL, after, PAGE_SIZE);
+            blackhole.consume(page);
+            after = page.nextAfter();
+        }
+        return pages;
+    }
+
+    /** The whole database as one JSON object. */
+    @Benchmark
+    public void serializeJson() throws IOException {
+        entryQueryService.writeEntries(databaseId, null, KeyRange.ALL, EntryFormat.JSON,
+            OutputStream.nullOutputStream());
+    }
+
+    /** The whole database as one JSON object per line. */
+    @Benchmark
+    public void serializeNdjson() throws IOException {
+        entryQueryService.writeEntries(databaseId, null, KeyRange.ALL, EntryFormat.NDJSON,
+            OutputStream.nullOutputStream());
+    }
+
+    private long scan(KeyRange range, Blackhole blackhole) throws RocksDBException {
+        try (DatabaseSession.Lease lease = registry.acquire(databaseId);
+             RangeScan scan = RangeScan.openBulk(lease.db(), lease.columnFamily(null), range,
+                 properties.getScan().getReadaheadSize().toBytes())) {
+            RocksIterator iter = scan.iterator();
+            IteratorBuffers buffers = new IteratorBuffers();
+            long count = 0;
+            for (scan.seekToStart(); iter.isValid(); iter.next()) {
+                blackhole.consume(buffers.readKey(iter));
+                blackhole.consume(buffers.readValue(iter));
+                count++;
+            }
+            iter.status();
+            return count;
+        }
+    }
+}
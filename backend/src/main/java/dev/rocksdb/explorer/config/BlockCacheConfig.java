@@ -0,0 +1,45 @@
+package dev.rocksdb.explorer.config;
+
+import org.rocksdb.Cache;
+import org.rocksdb.HyperClockCache;
+import org.rocksdb.LRUCache;
+import org.rocksdb.RocksDB;
+import org.rocksdb.Statistics;
+import org.rocksdb.StatsLevel;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class BlockCacheConfig {
+
+    static {
+        RocksDB.loadLibrary();
+    }
+
+    /**
+     * One block cache for every open database, so the viewer's memory for
+     * decompressed blocks is bounded in total rather than per database.
+     * Databases only hold a reference to it; closing this handle at shutdown
+     * does not free memory still used by a database that is open.
+     */
+    @Bean(destroyMethod = "close")
+    public Cache blockCache(ExplorerProperties properties) {
+        ExplorerProperties.BlockCache config = properties.getBlockCache();
+        long capacity = config.getSize().toBytes();
+        return switch (config.getType()) {
+            case LRU -> new LRUCache(capacity);
+            // An estimated entry charge of 0 lets RocksDB size the table automatically
+            case HYPER_CLOCK -> new HyperClockCache(capacity, 0, -1, false);
+        };
+    }
+
+    /**
+     * Tickers shared by every open database, for the block cache hit rate.
+     */
+    @Bean(destroyMethod = "close")
+    public Statistics statistics() {
+        Statistics statistics = new Statistics();
+        statistics.setStatsLevel(StatsLevel.EXCEPT_DETAILED_TIMERS);
+        return statistics;
+    }
+}
@@ -0,0 +1,168 @@
+package dev.rocksdb.explorer.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "explorer")
+public class ExplorerProperties {
+    private Upload upload = new Upload();
+    private Cache cache = new Cache();
+    private Session session = new Session();
+    private BlockCache blockCache = new BlockCache();
+    private Local local = new Local();
+    private Tail tail = new Tail();
+    private Scan scan = new Scan();
+    private Values values = new Values();
+    private Admission admission = new Admission();
+    private Sst sst = new Sst();
+    private KeyIndex keyIndex = new KeyIndex();
+
+    @Data
+    public static class Upload {
+        /** Largest archive accepted, for both multipart and raw request bodies. */
+        private DataSize maxSize = DataSize.ofGigabytes(10);
+        /** Buffer used when copying the request body into the extraction directory. */
+        private DataSize bufferSize = DataSize.ofKilobytes(64);
+        /** Threads inflating the entries of archives that are already on disk, shared by all extractions. */
+        private int extractionParallelism = Runtime.getRuntime().availableProcessors();
+        /** Upload jobs extracted and scanned at the same time; further jobs wait in line. */
+        private int maxConcurrentJobs = 4;
+        /** Upload jobs that may wait for a free slot; uploads beyond it are rejected before they are received. */
+        private int maxQueuedJobs = 16;
+        /** How long finished upload jobs can still be looked up. */
+        private Duration jobRetention = Duration.ofMinutes(10);
+        /** How often progress events are sent to clients following a job. */
+        private Duration progressInterval = Duration.ofMillis(500);
+    }
+
+    @Data
+    public static class Cache {
+        /** Where extracted databases are kept, keyed by the digest of their archive. */
+        private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "rocksdb-explorer-cache");
+        /** Budget for cached extractions; unused ones are deleted in LRU order beyond it. */
+        private DataSize maxSize = DataSize.ofGigabytes(20);
+        /** Maximum number of cached extractions. */
+        private int maxEntries = 64;
+    }
+
+    @Data
+    public static class Session {
+        /** Close databases that have not been queried for this long. */
+        private Duration idleTimeout = Duration.ofMinutes(30);
+        /** How often idle and over-budget databases are looked for. */
+        private Duration evictionInterval = Duration.ofMinutes(1);
+        /** Maximum number of databases kept open at the same time. */
+        private int maxOpen = 16;
+        /** Budget for extracted database files across all sessions. */
+        private DataSize maxDiskUsage = DataSize.ofGigabytes(10);
+        /** Budget for RocksDB table readers and memtables across all sessions; the block cache has its own. */
+        private DataSize maxNativeMemory = DataSize.ofGigabytes(2);
+    }
+
+    @Data
+    public static class BlockCache {
+        /** Total size of the block cache shared by all open databases. */
+        private DataSize size = DataSize.ofMegabytes(512);
+        private Type type = Type.LRU;
+
+        public enum Type {
+            LRU,
+            HYPER_CLOCK
+        }
+    }
+
+    @Data
+    public static class Local {
+        /** Directories under which databases may be opened in place; empty disables local opens. */
+        private List<Path> allowedRoots = new ArrayList<>();
+        /** Where secondary instances keep their own info logs while open. */
+        private Path secondaryDirectory = Path.of(System.getProperty("java.io.tmpdir"), "rocksdb-explorer-secondary");
+    }
+
+    @Data
+    public static class Tail {
+        /** How often tailed secondaries catch up with their primary. */
+        private Duration pollInterval = Duration.ofSeconds(1);
+        /** Largest key range a single tail may watch. */
+        private int maxKeys = 100_000;
+        /** Tail streams are closed after this long; clients reconnect to resume. */
+        private Duration timeout = Duration.ofMinutes(30);
+    }
+
+    @Data
+    public static class Scan {
+        /** Threads used for scans that are split into key-range shards. */
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        /** Upper bound on the number of shards a single scan is split into. */
+        private int maxShards = 64;
+        /** Readahead for scans over whole ranges, which also bypass the block cache. */
+        private DataSize readaheadSize = DataSize.ofMegabytes(2);
+    }
+
+    @Data
+    public static class Values {
+        /** Bytes of each value rendered in entry lists and search results. */
+        private DataSize previewSize = DataSize.ofBytes(256);
+        /** Decoder for keys that match none of the prefixes in {@link #decoders}. */
+        private String defaultDecoder = "utf8";
+        /** Decoder name by key prefix; the longest matching prefix wins. */
+        private Map<String, String> decoders = new LinkedHashMap<>();
+        /** Largest output a decoder may inflate a single value to. */
+        private DataSize maxDecodedSize = DataSize.ofMegabytes(16);
+    }
+
+    /**
+     * Admitted requests run on virtual threads, but a virtual thread keeps its
+     * carrier while it is inside a RocksDB JNI call or a loop that never
+     * blocks, and there are only as many carriers as cores. The defaults
+     * therefore admit fewer native operations in total than there are cores,
+     * so that some carriers stay free for every other request.
+     */
+    @Data
+    public static class Admission {
+        private static final int CORES = Runtime.getRuntime().availableProcessors();
+
+        /** Archives extracted at the same time by upload requests. */
+        private int maxExtractions = Math.max(1, (CORES - 1) / 4);
+        /** Databases opened in place at the same time. */
+        private int maxOpens = Math.max(1, (CORES - 1) / 4);
+        /** Full-range scans (search, query, prefixes, dump, export) running at the same time. */
+        private int maxScans = Math.max(1, (CORES - 1) / 2);
+        /** How long a request may wait for a free slot before it is rejected with 429. */
+        private Duration maxWait = Duration.ZERO;
+        /** Sent as {@code Retry-After} with rejections. */
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+
+    @Data
+    public static class Sst {
+        /** Sets of loose SST files kept open at the same time; the least recently used one is closed beyond it. */
+        private int maxOpen = 16;
+        /** Most SST files opened as one set. */
+        private int maxFiles = 256;
+    }
+
+    @Data
+    public static class KeyIndex {
+        /** Where the sidecar databases holding key indexes are kept while their database is open. */
+        private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "rocksdb-explorer-key-index");
+        /** Indexes built at the same time; further builds queue up. */
+        private int maxConcurrentBuilds = 2;
+        /** Builds that may wait for a thread; further requests are rejected with 429. */
+        private int maxQueuedBuilds = 8;
+        /** Budget for the postings of all key indexes, uncompressed; builds beyond it fail. */
+        private DataSize maxDiskUsage = DataSize.ofGigabytes(10);
+        /** Postings written to the sidecar database in one batch. */
+        private DataSize writeBatchSize = DataSize.ofMegabytes(4);
+    }
+}
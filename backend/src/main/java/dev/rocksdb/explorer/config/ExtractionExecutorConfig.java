@@ -0,0 +1,22 @@
+package dev.rocksdb.explorer.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ExtractionExecutorConfig {
+
+    /**
+     * Bounded pool inflating the entries of archives that are already on
+     * disk. Every extraction submits to it, so concurrent uploads share
+     * {@code explorer.upload.extraction-parallelism} threads in total.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService extractionExecutor(ExplorerProperties properties) {
+        return Executors.newFixedThreadPool(properties.getUpload().getExtractionParallelism(),
+            Thread.ofPlatform().name("extract-", 1).daemon().factory());
+    }
+}
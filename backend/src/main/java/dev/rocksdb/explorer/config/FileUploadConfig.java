@@ -4,6 +4,8 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import dev.rocksdb.explorer.controller.FileUploadController;
+
 @Configuration
 public class FileUploadConfig implements WebMvcConfigurer {
 
@@ -12,6 +14,7 @@ public class FileUploadConfig implements WebMvcConfigurer {
         registry.addMapping("/api/**")
                 .allowedOrigins("http://localhost:5173") // Vite default port
                 .allowedMethods("GET", "POST", "PUT", "DELETE")
-                .allowedHeaders("*");
+                .allowedHeaders("*")
+                .exposedHeaders(FileUploadController.DATABASE_ID_HEADER);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,85 @@
+package dev.rocksdb.explorer.config;
+
+import java.util.Locale;
+import java.util.function.ToLongFunction;
+
+import org.rocksdb.Cache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import dev.rocksdb.explorer.service.AdmissionControl;
+import dev.rocksdb.explorer.service.DatabaseSession;
+import dev.rocksdb.explorer.service.DatabaseSessionRegistry;
+import dev.rocksdb.explorer.service.ExtractionCache;
+import dev.rocksdb.explorer.service.SstInspectionService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Gauges for what the viewer holds on to between requests: open native
+     * handles, extracted files on disk and native memory outside the heap.
+     * They are read when metrics are scraped.
+     */
+    @Bean
+    public MeterBinder explorerResourceMetrics(DatabaseSessionRegistry sessionRegistry,
+            SstInspectionService sstInspectionService, ExtractionCache extractionCache, Cache blockCache,
+            AdmissionControl admissionControl) {
+        return registry -> {
+            Gauge.builder("explorer.sessions.open", sessionRegistry, sessions -> sessions.list().size())
+                .description("Databases kept open")
+                .register(registry);
+            Gauge.builder("explorer.sst.sets.open", sstInspectionService, SstInspectionService::openSets)
+                .description("Sets of loose SST files kept open")
+                .register(registry);
+            Gauge.builder("explorer.sessions.disk", sessionRegistry,
+                    sessions -> sum(sessions, DatabaseSession::getDiskUsage))
+                .description("Extracted files of open databases")
+                .baseUnit(BaseUnits.BYTES)
+                .register(registry);
+            Gauge.builder("explorer.cache.size", extractionCache, ExtractionCache::totalSize)
+                .description("Extracted files in the extraction cache, open or not")
+                .baseUnit(BaseUnits.BYTES)
+                .register(registry);
+
+            // The block cache is shared, so its usage is read once instead of per database
+            Gauge.builder("explorer.native.memory", blockCache, Cache::getUsage)
+                .description("Native memory held by RocksDB")
+                .tag("kind", "block-cache")
+                .baseUnit(BaseUnits.BYTES)
+                .register(registry);
+            Gauge.builder("explorer.native.memory", blockCache, Cache::getPinnedUsage)
+                .description("Native memory held by RocksDB")
+                .tag("kind", "block-cache-pinned")
+                .baseUnit(BaseUnits.BYTES)
+                .register(registry);
+            Gauge.builder("explorer.native.memory", sessionRegistry,
+                    sessions -> sum(sessions, s -> s.aggregatedProperty("rocksdb.estimate-table-readers-mem")))
+                .description("Native memory held by RocksDB")
+                .tag("kind", "table-readers")
+                .baseUnit(BaseUnits.BYTES)
+                .register(registry);
+            Gauge.builder("explorer.native.memory", sessionRegistry,
+                    sessions -> sum(sessions, s -> s.aggregatedProperty("rocksdb.cur-size-all-mem-tables")))
+                .description("Native memory held by RocksDB")
+                .tag("kind", "memtables")
+                .baseUnit(BaseUnits.BYTES)
+                .register(registry);
+
+            for (AdmissionControl.Resource resource : AdmissionControl.Resource.values()) {
+                Gauge.builder("explorer.admission.available", admissionControl,
+                        admission -> admission.available(resource))
+                    .description("Free admission slots")
+                    .tag("resource", resource.name().toLowerCase(Locale.ROOT))
+                    .register(registry);
+            }
+        };
+    }
+
+    private static long sum(DatabaseSessionRegistry sessions, ToLongFunction<DatabaseSession> value) {
+        return sessions.list().stream().mapToLong(value).sum();
+    }
+}
@@ -0,0 +1,26 @@
+package dev.rocksdb.explorer.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ScanExecutorConfig {
+
+    /**
+     * Bounded pool for CPU-heavy shard scans, so concurrent searches queue up
+     * instead of oversubscribing the cores.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService scanExecutor(ExplorerProperties properties) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(properties.getScan().getParallelism(), r -> {
+            Thread thread = new Thread(r, "scan-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,59 @@
+package dev.rocksdb.explorer.controller;
+
+import org.rocksdb.RocksDBException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+import dev.rocksdb.explorer.service.AdmissionRejectedException;
+import dev.rocksdb.explorer.service.ArchiveTooLargeException;
+import dev.rocksdb.explorer.service.DatabaseNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Maps the exceptions that any endpoint can raise to responses, so every
+ * controller answers them with the same status. Exceptions that belong to
+ * one controller are still handled there.
+ */
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class ApiExceptionHandler {
+    private static final Logger log = LoggerFactory.getLogger(ApiExceptionHandler.class);
+    private final ExplorerProperties properties;
+
+    @ExceptionHandler(DatabaseNotFoundException.class)
+    public ResponseEntity<?> handleDatabaseNotFound(DatabaseNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    }
+
+    @ExceptionHandler(ArchiveTooLargeException.class)
+    public ResponseEntity<?> handleTooLarge(ArchiveTooLargeException e) {
+        log.warn("Rejected oversized upload: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(e.getMessage());
+    }
+
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<?> handleRejected(AdmissionRejectedException e) {
+        log.warn("Rejected request: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, Long.toString(properties.getAdmission().getRetryAfter().toSeconds()))
+            .body(e.getMessage());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<?> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    @ExceptionHandler(RocksDBException.class)
+    public ResponseEntity<?> handleFailure(RocksDBException e, HttpServletRequest request) {
+        log.error("RocksDB call failed for {} {}", request.getMethod(), request.getRequestURI(), e);
+        return ResponseEntity.internalServerError().body("RocksDB call failed: " + e.getMessage());
+    }
+}
@@ -0,0 +1,21 @@
+package dev.rocksdb.explorer.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import dev.rocksdb.explorer.service.BlockCacheStatsService;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/block-cache")
+@RequiredArgsConstructor
+public class BlockCacheController {
+    private final BlockCacheStatsService blockCacheStatsService;
+
+    @GetMapping
+    public ResponseEntity<?> stats() {
+        return ResponseEntity.ok(blockCacheStatsService.blockCacheStats());
+    }
+}
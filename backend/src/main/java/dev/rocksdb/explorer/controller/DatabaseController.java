@@ -0,0 +1,361 @@
+package dev.rocksdb.explorer.controller;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+
+import org.rocksdb.RocksDBException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+import dev.rocksdb.explorer.model.BatchGetRequest;
+import dev.rocksdb.explorer.model.DatabaseInfo;
+import dev.rocksdb.explorer.model.EntryFormat;
+import dev.rocksdb.explorer.model.ExportCompression;
+import dev.rocksdb.explorer.model.JsonQueryRequest;
+import dev.rocksdb.explorer.model.LocalDatabaseRequest;
+import dev.rocksdb.explorer.service.AdmissionControl;
+import dev.rocksdb.explorer.service.AdmissionRejectedException;
+import dev.rocksdb.explorer.service.ArchiveTooLargeException;
+import dev.rocksdb.explorer.service.DatabaseNotFoundException;
+import dev.rocksdb.explorer.service.DatabaseSession;
+import dev.rocksdb.explorer.service.DatabaseSessionRegistry;
+import dev.rocksdb.explorer.service.DatabaseStatsService;
+import dev.rocksdb.explorer.service.EntryQueryService;
+import dev.rocksdb.explorer.service.JsonQueryService;
+import dev.rocksdb.explorer.service.KeyRange;
+import dev.rocksdb.explorer.service.LiveTailService;
+import dev.rocksdb.explorer.service.PrefixHistogramService;
+import dev.rocksdb.explorer.service.RocksDBService;
+import dev.rocksdb.explorer.service.ValueSearchService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/databases")
+@RequiredArgsConstructor
+public class DatabaseController {
+    private static final Logger log = LoggerFactory.getLogger(DatabaseController.class);
+    public static final String CONTENT_DIGEST_HEADER = "X-Content-SHA256";
+    private final RocksDBService rocksDBService;
+    private final EntryQueryService entryQueryService;
+    private final ValueSearchService valueSearchService;
+    private final JsonQueryService jsonQueryService;
+    private final LiveTailService liveTailService;
+    private final DatabaseStatsService databaseStatsService;
+    private final PrefixHistogramService prefixHistogramService;
+    private final DatabaseSessionRegistry sessionRegistry;
+    private final AdmissionControl admissionControl;
+    private final ExplorerProperties properties;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> openDatabase(@RequestParam("file") MultipartFile file) {
+        log.info("Received database open request: {}", file.getOriginalFilename());
+
+        if (file.isEmpty() || !file.getOriginalFilename().endsWith(".zip")) {
+            log.warn("Invalid file upload attempt: {}", file.getOriginalFilename());
+            return ResponseEntity.badRequest().body("Please upload a zip file");
+        }
+
+        try (AdmissionControl.Permit permit = admissionControl.admit(AdmissionControl.Resource.EXTRACTION)) {
+            DatabaseSession session = rocksDBService.openDatabase(file);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .body(info(session));
+        } catch (ArchiveTooLargeException | AdmissionRejectedException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to open database", e);
+            return ResponseEntity.internalServerError().body("Failed to open database: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Opens a zip sent as the raw request body. The body is extracted while it
+     * is being received, so the archive is never spooled to disk by multipart
+     * handling and the multipart size limits do not apply. Clients that send
+     * the archive's SHA-256 up front skip the upload entirely when the same
+     * archive is already open or cached.
+     */
+    @PostMapping(consumes = {"application/zip", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<?> openDatabaseFromBody(
+            HttpServletRequest request,
+            @RequestHeader(name = CONTENT_DIGEST_HEADER, required = false) String digest) {
+        log.info("Received database open request ({} bytes)", request.getContentLengthLong());
+        if (request.getContentLengthLong() > properties.getUpload().getMaxSize().toBytes()) {
+            throw new ArchiveTooLargeException("Archive exceeds " + properties.getUpload().getMaxSize());
+        }
+
+        try (AdmissionControl.Permit permit = admissionControl.admit(AdmissionControl.Resource.EXTRACTION)) {
+            DatabaseSession session = rocksDBService.openDatabase(request.getInputStream(), digest);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .body(info(session));
+        } catch (ArchiveTooLargeException | IllegalArgumentException | AdmissionRejectedException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to open database", e);
+            return ResponseEntity.internalServerError().body("Failed to open database: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Opens a database that already exists on this host in place, so opening
+     * takes the same time regardless of its size. Only paths under
+     * {@code explorer.local.allowed-roots} are accepted.
+     */
+    @PostMapping(path = "/local", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> openLocalDatabase(@RequestBody LocalDatabaseRequest request) {
+        log.info("Received local database open request: {}", request.path());
+        if (request.path() == null || request.path().isBlank()) {
+            return ResponseEntity.badRequest().body("Please specify a path");
+        }
+
+        try (AdmissionControl.Permit permit = admissionControl.admit(AdmissionControl.Resource.OPEN)) {
+            DatabaseSession session = rocksDBService.openLocalDatabase(request.path(), request.secondary());
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .body(info(session));
+        } catch (IllegalArgumentException | AdmissionRejectedException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to open local database", e);
+            return ResponseEntity.internalServerError().body("Failed to open database: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}/column-families")
+    public ResponseEntity<?> listColumnFamilies(@PathVariable String id) throws RocksDBException {
+        return ResponseEntity.ok(entryQueryService.listColumnFamilies(id));
+    }
+
+    /**
+     * Key counts and sizes from metadata only, without scanning. With
+     * {@code prefix}, {@code from} or {@code to}, the approximate size of
+     * that key range is included.
+     */
+    @GetMapping({"/{id}/stats", "/{id}/column-families/{cf}/stats"})
+    public ResponseEntity<?> stats(
+            @PathVariable String id,
+            @PathVariable(name = "cf", required = false) String columnFamily,
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to) throws RocksDBException {
+        return ResponseEntity.ok(databaseStatsService.stats(id, columnFamily, KeyRange.of(prefix, from, to)));
+    }
+
+    /**
+     * Count, key and value bytes and value size percentiles per key prefix,
+     * computed in one pass with fixed memory per prefix.
+     */
+    @GetMapping({"/{id}/prefixes", "/{id}/column-families/{cf}/prefixes"})
+    public ResponseEntity<?> prefixHistogram(
+            @PathVariable String id,
+            @PathVariable(name = "cf", required = false) String columnFamily,
+            @RequestParam(defaultValue = ":") String delimiter,
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(defaultValue = "1000") int maxPrefixes) throws RocksDBException {
+        KeyRange range = KeyRange.of(prefix, from, to);
+        try (AdmissionControl.Permit permit = admissionControl.admit(AdmissionControl.Resource.SCAN)) {
+            return ResponseEntity.ok(prefixHistogramService.histogram(id, columnFamily, range, delimiter, maxPrefixes));
+        }
+    }
+
+    @GetMapping({"/{id}/entries", "/{id}/column-families/{cf}/entries"})
+    public ResponseEntity<?> listEntries(
+            @PathVariable String id,
+            @PathVariable(name = "cf", required = false) String columnFamily,
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int limit) throws RocksDBException {
+        KeyRange range = KeyRange.of(prefix, from, to);
+        return ResponseEntity.ok(entryQueryService.listEntries(id, columnFamily, range, after, limit));
+    }
+
+    /**
+     * The whole value of one key, for expanding an entry whose list preview
+     * was truncated. {@code decoder} overrides the one configured for the key.
+     * The key is a query parameter rather than a path segment, so that keys
+     * containing {@code /} can be looked up too.
+     */
+    @GetMapping({"/{id}/entry", "/{id}/column-families/{cf}/entry"})
+    public ResponseEntity<?> getEntry(
+            @PathVariable String id,
+            @PathVariable(name = "cf", required = false) String columnFamily,
+            @RequestParam String key,
+            @RequestParam(required = false) String decoder) throws RocksDBException {
+        return entryQueryService.getEntry(id, columnFamily, key, decoder)
+            .<ResponseEntity<?>>map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body("Key not found: " + key));
+    }
+
+    /**
+     * Looks up a list of known keys in one request and one native call,
+     * instead of scanning for them.
+     */
+    @PostMapping(path = {"/{id}/entries:batchGet", "/{id}/column-families/{cf}/entries:batchGet"},
+        consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> batchGetEntries(
+            @PathVariable String id,
+            @PathVariable(name = "cf", required = false) String columnFamily,
+            @RequestBody BatchGetRequest request) throws RocksDBException {
+        return ResponseEntity.ok(entryQueryService.getEntries(id, columnFamily, request.keys(), request.decoder()));
+    }
+
+    @GetMapping({"/{id}/search", "/{id}/column-families/{cf}/search"})
+    public ResponseEntity<?> searchValues(
+            @PathVariable String id,
+            @PathVariable(name = "cf", required = false) String columnFamily,
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "false") boolean regex,
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(defaultValue = "100") int limit) throws RocksDBException {
+        KeyRange range = KeyRange.of(prefix, from, to);
+        try (AdmissionControl.Permit permit = admissionControl.admit(AdmissionControl.Resource.SCAN)) {
+            return ResponseEntity.ok(valueSearchService.search(id, columnFamily, range, query, regex, limit));
+        }
+    }
+
+    /**
+     * Filters JSON object values by predicates on their fields and returns
+     * only the selected fields, so the client never downloads whole documents.
+     */
+    @PostMapping(path = {"/{id}/query", "/{id}/column-families/{cf}/query"},
+        consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> queryValues(
+            @PathVariable String id,
+            @PathVariable(name = "cf", required = false) String columnFamily,
+            @RequestBody JsonQueryRequest request) throws RocksDBException {
+        try (AdmissionControl.Permit permit = admissionControl.admit(AdmissionControl.Resource.SCAN)) {
+            return ResponseEntity.ok(jsonQueryService.query(id, columnFamily, request));
+        }
+    }
+
+    /**
+     * Streams the whole database in key order as the iterator advances, for
+     * clients that really want everything.
+     */
+    @GetMapping({"/{id}/dump", "/{id}/column-families/{cf}/dump"})
+    public ResponseEntity<StreamingResponseBody> dump(
+            @PathVariable String id,
+            @PathVariable(name = "cf", required = false) String columnFamily,
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(defaultValue = "json") String format,
+            HttpServletRequest request) {
+        EntryFormat entryFormat = EntryFormat.parse(format);
+        KeyRange range = KeyRange.of(prefix, from, to);
+        sessionRegistry.get(id);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(entryFormat.getMediaType()))
+            .body(holdingScanPermit(request,
+                out -> entryQueryService.writeEntries(id, columnFamily, range, entryFormat, out)));
+    }
+
+    /**
+     * Downloads a range as a file in the chosen format, optionally gzip or
+     * zstd compressed. Entries are serialized and compressed as the iterator
+     * advances, so memory use does not depend on the number of entries.
+     */
+    @GetMapping({"/{id}/export", "/{id}/column-families/{cf}/export"})
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable String id,
+            @PathVariable(name = "cf", required = false) String columnFamily,
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "none") String compression,
+            HttpServletRequest request) {
+        EntryFormat entryFormat = EntryFormat.parse(format);
+        ExportCompression exportCompression = ExportCompression.parse(compression);
+        KeyRange range = KeyRange.of(prefix, from, to);
+        sessionRegistry.get(id);
+
+        String mediaType = exportCompression == ExportCompression.NONE
+            ? entryFormat.getMediaType()
+            : exportCompression.getMediaType();
+        String filename = (columnFamily == null ? id : id + "-" + columnFamily)
+            + "." + entryFormat.name().toLowerCase(Locale.ROOT) + exportCompression.getFileExtension();
+        String contentDisposition = ContentDisposition.attachment().filename(filename).build().toString();
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(mediaType))
+            .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition)
+            .body(holdingScanPermit(request,
+                out -> entryQueryService.exportEntries(id, columnFamily, range, entryFormat, exportCompression, out)));
+    }
+
+    /**
+     * Takes a scan slot for a streaming body, held until the body has been
+     * written. The body runs after this request thread returns, and may never
+     * run if the client goes away or the async request times out first, so
+     * the slot is also returned when the async request completes in any way.
+     */
+    private StreamingResponseBody holdingScanPermit(HttpServletRequest request, StreamingResponseBody body) {
+        AdmissionControl.Permit permit = admissionControl.admit(AdmissionControl.Resource.SCAN);
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(permit,
+            new CallableProcessingInterceptor() {
+                @Override
+                public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                    permit.close();
+                }
+            });
+        return out -> {
+            try (permit) {
+                body.writeTo(out);
+            }
+        };
+    }
+
+    /**
+     * Streams the keys that change in a database opened as a secondary, as
+     * server-sent {@code changes} events.
+     */
+    @GetMapping(path = {"/{id}/tail", "/{id}/column-families/{cf}/tail"}, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter tail(
+            @PathVariable String id,
+            @PathVariable(name = "cf", required = false) String columnFamily,
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to) throws RocksDBException, IOException {
+        return liveTailService.tail(id, columnFamily, KeyRange.of(prefix, from, to));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> closeDatabase(@PathVariable String id) {
+        if (!sessionRegistry.close(id)) {
+            throw new DatabaseNotFoundException(id);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    private static DatabaseInfo info(DatabaseSession session) {
+        return new DatabaseInfo(session.getId(), session.getOpenedAt(), session.getContentDigest(),
+            session.getColumnFamilyNames());
+    }
+}
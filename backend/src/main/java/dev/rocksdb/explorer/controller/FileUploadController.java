@@ -11,6 +11,10 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import dev.rocksdb.explorer.service.AdmissionControl;
+import dev.rocksdb.explorer.service.AdmissionRejectedException;
+import dev.rocksdb.explorer.service.ArchiveTooLargeException;
+import dev.rocksdb.explorer.service.DatabaseSession;
 import dev.rocksdb.explorer.service.RocksDBService;
 import lombok.RequiredArgsConstructor;
 
@@ -19,7 +23,9 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class FileUploadController {
     private static final Logger log = LoggerFactory.getLogger(FileUploadController.class);
+    public static final String DATABASE_ID_HEADER = "X-Database-Id";
     private final RocksDBService rocksDBService;
+    private final AdmissionControl admissionControl;
 
     @PostMapping
     public ResponseEntity<?> uploadFile(@RequestParam("file") MultipartFile file) {
@@ -30,10 +36,15 @@ public class FileUploadController {
             return ResponseEntity.badRequest().body("Please upload a zip file");
         }
 
-        try {
-            Map<String, String> keyValues = rocksDBService.processDatabase(file);
+        try (AdmissionControl.Permit permit = admissionControl.admit(AdmissionControl.Resource.EXTRACTION)) {
+            DatabaseSession session = rocksDBService.openDatabase(file);
+            Map<String, String> keyValues = rocksDBService.readAll(session);
             log.info("Successfully processed database with {} entries", keyValues.size());
-            return ResponseEntity.ok(keyValues);
+            return ResponseEntity.ok()
+                .header(DATABASE_ID_HEADER, session.getId())
+                .body(keyValues);
+        } catch (ArchiveTooLargeException | AdmissionRejectedException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to process database", e);
             return ResponseEntity.internalServerError().body("Failed to process database: " + e.getMessage());
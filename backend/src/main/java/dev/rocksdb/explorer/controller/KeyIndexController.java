@@ -0,0 +1,81 @@
+package dev.rocksdb.explorer.controller;
+
+import org.rocksdb.RocksDBException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import dev.rocksdb.explorer.service.KeyIndexNotFoundException;
+import dev.rocksdb.explorer.service.KeyIndexNotReadyException;
+import dev.rocksdb.explorer.service.KeyIndexService;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Substring search over keys. The key index of a column family is built in
+ * the background on request; its status is polled until it is ready.
+ */
+@RestController
+@RequestMapping("/api/databases")
+@RequiredArgsConstructor
+public class KeyIndexController {
+    private static final Logger log = LoggerFactory.getLogger(KeyIndexController.class);
+    private final KeyIndexService keyIndexService;
+
+    @PostMapping({"/{id}/key-index", "/{id}/column-families/{cf}/key-index"})
+    public ResponseEntity<?> build(
+            @PathVariable String id,
+            @PathVariable(name = "cf", required = false) String columnFamily) {
+        log.info("Received key index request for database {}", id);
+        return ResponseEntity.accepted().body(keyIndexService.build(id, columnFamily));
+    }
+
+    @GetMapping({"/{id}/key-index", "/{id}/column-families/{cf}/key-index"})
+    public ResponseEntity<?> info(
+            @PathVariable String id,
+            @PathVariable(name = "cf", required = false) String columnFamily) {
+        return ResponseEntity.ok(keyIndexService.info(id, columnFamily));
+    }
+
+    @DeleteMapping({"/{id}/key-index", "/{id}/column-families/{cf}/key-index"})
+    public ResponseEntity<?> drop(
+            @PathVariable String id,
+            @PathVariable(name = "cf", required = false) String columnFamily) {
+        if (!keyIndexService.drop(id, columnFamily)) {
+            throw new KeyIndexNotFoundException(id, columnFamily);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Entries whose key contains {@code q} anywhere, in key order, one page
+     * at a time like the entry list.
+     */
+    @GetMapping({"/{id}/keys/search", "/{id}/column-families/{cf}/keys/search"})
+    public ResponseEntity<?> search(
+            @PathVariable String id,
+            @PathVariable(name = "cf", required = false) String columnFamily,
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int limit) throws RocksDBException {
+        return ResponseEntity.ok(keyIndexService.search(id, columnFamily, query, after, limit));
+    }
+
+    @ExceptionHandler(KeyIndexNotFoundException.class)
+    public ResponseEntity<?> handleNotFound(KeyIndexNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    }
+
+    @ExceptionHandler(KeyIndexNotReadyException.class)
+    public ResponseEntity<?> handleNotReady(KeyIndexNotReadyException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+}
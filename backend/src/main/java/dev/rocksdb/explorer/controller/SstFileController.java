@@ -0,0 +1,113 @@
+package dev.rocksdb.explorer.controller;
+
+import org.rocksdb.RocksDBException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import dev.rocksdb.explorer.model.SstFilesRequest;
+import dev.rocksdb.explorer.service.AdmissionControl;
+import dev.rocksdb.explorer.service.AdmissionRejectedException;
+import dev.rocksdb.explorer.service.ArchiveTooLargeException;
+import dev.rocksdb.explorer.service.KeyRange;
+import dev.rocksdb.explorer.service.SstFileSetNotFoundException;
+import dev.rocksdb.explorer.service.SstInspectionService;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Loose SST files without a database around them: a zip of {@code .sst}
+ * files, or a directory of them on this host, is opened as a set whose table
+ * properties can be read and whose entries are listed merged in key order.
+ */
+@RestController
+@RequestMapping("/api/sst")
+@RequiredArgsConstructor
+public class SstFileController {
+    private static final Logger log = LoggerFactory.getLogger(SstFileController.class);
+    private final SstInspectionService sstInspectionService;
+    private final AdmissionControl admissionControl;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> openArchive(@RequestParam("file") MultipartFile file) {
+        log.info("Received SST file upload: {}", file.getOriginalFilename());
+
+        if (file.isEmpty() || !file.getOriginalFilename().endsWith(".zip")) {
+            log.warn("Invalid file upload attempt: {}", file.getOriginalFilename());
+            return ResponseEntity.badRequest().body("Please upload a zip file");
+        }
+
+        try (AdmissionControl.Permit permit = admissionControl.admit(AdmissionControl.Resource.EXTRACTION)) {
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .body(sstInspectionService.openArchive(file));
+        } catch (ArchiveTooLargeException | IllegalArgumentException | AdmissionRejectedException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to open SST files", e);
+            return ResponseEntity.internalServerError().body("Failed to open SST files: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Opens the SST files under a directory on this host in place. Only
+     * paths under {@code explorer.local.allowed-roots} are accepted.
+     */
+    @PostMapping(path = "/local", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> openLocal(@RequestBody SstFilesRequest request) {
+        log.info("Received local SST file open request: {}", request.path());
+        if (request.path() == null || request.path().isBlank()) {
+            return ResponseEntity.badRequest().body("Please specify a path");
+        }
+
+        try (AdmissionControl.Permit permit = admissionControl.admit(AdmissionControl.Resource.OPEN)) {
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .body(sstInspectionService.openLocal(request.path()));
+        } catch (IllegalArgumentException | AdmissionRejectedException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to open local SST files", e);
+            return ResponseEntity.internalServerError().body("Failed to open SST files: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> info(@PathVariable String id) {
+        return ResponseEntity.ok(sstInspectionService.info(id));
+    }
+
+    @GetMapping("/{id}/entries")
+    public ResponseEntity<?> listEntries(
+            @PathVariable String id,
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int limit) throws RocksDBException {
+        KeyRange range = KeyRange.of(prefix, from, to);
+        return ResponseEntity.ok(sstInspectionService.listEntries(id, range, after, limit));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> close(@PathVariable String id) {
+        if (!sstInspectionService.close(id)) {
+            throw new SstFileSetNotFoundException(id);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    @ExceptionHandler(SstFileSetNotFoundException.class)
+    public ResponseEntity<?> handleNotFound(SstFileSetNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    }
+}
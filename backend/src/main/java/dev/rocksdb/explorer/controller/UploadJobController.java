@@ -0,0 +1,79 @@
+package dev.rocksdb.explorer.controller;
+
+import java.io.IOException;
+import java.net.URI;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+import dev.rocksdb.explorer.model.UploadProgress;
+import dev.rocksdb.explorer.service.UploadJobNotFoundException;
+import dev.rocksdb.explorer.service.UploadJobService;
+import dev.rocksdb.explorer.service.UploadQueueFullException;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Uploads that are opened in the background. The upload request returns a
+ * job as soon as the archive is received; its progress can then be polled or
+ * followed as server-sent events until it names the opened database.
+ */
+@RestController
+@RequestMapping("/api/upload/jobs")
+@RequiredArgsConstructor
+public class UploadJobController {
+    private static final Logger log = LoggerFactory.getLogger(UploadJobController.class);
+    private final UploadJobService uploadJobService;
+    private final ExplorerProperties properties;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> submit(@RequestParam("file") MultipartFile file) throws IOException {
+        log.info("Received upload job request: {}", file.getOriginalFilename());
+
+        if (file.isEmpty() || !file.getOriginalFilename().endsWith(".zip")) {
+            log.warn("Invalid file upload attempt: {}", file.getOriginalFilename());
+            return ResponseEntity.badRequest().body("Please upload a zip file");
+        }
+
+        UploadProgress job = uploadJobService.submit(file);
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/upload/jobs/" + job.jobId()))
+            .body(job);
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<?> progress(@PathVariable String jobId) {
+        return ResponseEntity.ok(uploadJobService.progress(jobId));
+    }
+
+    @GetMapping(path = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter follow(@PathVariable String jobId) {
+        return uploadJobService.follow(jobId);
+    }
+
+    @ExceptionHandler(UploadJobNotFoundException.class)
+    public ResponseEntity<?> handleNotFound(UploadJobNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    }
+
+    @ExceptionHandler(UploadQueueFullException.class)
+    public ResponseEntity<?> handleQueueFull(UploadQueueFullException e) {
+        log.warn("Rejected upload job: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, Long.toString(properties.getAdmission().getRetryAfter().toSeconds()))
+            .body(e.getMessage());
+    }
+}
@@ -0,0 +1,21 @@
+package dev.rocksdb.explorer.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import dev.rocksdb.explorer.decoder.ValueDecoders;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/decoders")
+@RequiredArgsConstructor
+public class ValueDecoderController {
+    private final ValueDecoders valueDecoders;
+
+    @GetMapping
+    public ResponseEntity<?> names() {
+        return ResponseEntity.ok(valueDecoders.names());
+    }
+}
@@ -0,0 +1,23 @@
+package dev.rocksdb.explorer.decoder;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Standard base64, for clients that decode binary values themselves.
+ */
+@Component
+public class Base64ValueDecoder implements ValueDecoder {
+
+    @Override
+    public String name() {
+        return "base64";
+    }
+
+    @Override
+    public String decode(ByteBuffer value) {
+        return Base64.getEncoder().encodeToString(ValueDecoders.toArray(value));
+    }
+}
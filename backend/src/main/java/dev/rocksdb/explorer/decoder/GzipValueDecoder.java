@@ -0,0 +1,79 @@
+package dev.rocksdb.explorer.decoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.HexFormat;
+import java.util.zip.GZIPInputStream;
+
+import org.springframework.stereotype.Component;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+
+/**
+ * Gzip-compressed values, inflated and rendered as UTF-8 if they are valid
+ * UTF-8 and as hex otherwise. Inflating stops at
+ * {@code explorer.values.max-decoded-size}.
+ */
+@Component
+public class GzipValueDecoder implements ValueDecoder {
+    private final long maxDecodedSize;
+
+    public GzipValueDecoder(ExplorerProperties properties) {
+        this.maxDecodedSize = properties.getValues().getMaxDecodedSize().toBytes();
+    }
+
+    @Override
+    public String name() {
+        return "gzip";
+    }
+
+    @Override
+    public String decode(ByteBuffer value) {
+        byte[] inflated = inflate(value, maxDecodedSize + 1, false);
+        if (inflated.length > maxDecodedSize) {
+            throw new IllegalArgumentException("Value inflates to more than " + maxDecodedSize + " bytes");
+        }
+        return render(inflated, true);
+    }
+
+    /**
+     * Inflates only as much of the head as is needed for {@code maxBytes}
+     * of output.
+     */
+    @Override
+    public String preview(ByteBuffer head, int maxBytes) {
+        return render(inflate(head, maxBytes, true), false);
+    }
+
+    private static byte[] inflate(ByteBuffer value, long limit, boolean truncated) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(ValueDecoders.toArray(value)))) {
+            int read;
+            while (out.size() < limit
+                    && (read = in.read(buffer, 0, (int) Math.min(buffer.length, limit - out.size()))) > 0) {
+                out.write(buffer, 0, read);
+            }
+        } catch (EOFException e) {
+            if (!truncated) {
+                throw new IllegalArgumentException("Value is not valid gzip: " + e.getMessage());
+            }
+            // The head ended before enough output was inflated; keep what it held
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Value is not valid gzip: " + e.getMessage());
+        }
+        return out.toByteArray();
+    }
+
+    private static String render(byte[] bytes, boolean complete) {
+        try {
+            return Utf8ValueDecoder.decode(ByteBuffer.wrap(bytes), complete);
+        } catch (IllegalArgumentException e) {
+            return HexFormat.of().formatHex(bytes);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package dev.rocksdb.explorer.decoder;
+
+import java.nio.ByteBuffer;
+import java.util.HexFormat;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Lower-case hex. Accepts any value, so it is also the fallback when the
+ * decoder chosen by key prefix rejects one.
+ */
+@Component
+public class HexValueDecoder implements ValueDecoder {
+    public static final String NAME = "hex";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public String decode(ByteBuffer value) {
+        return HexFormat.of().formatHex(ValueDecoders.toArray(value));
+    }
+}
@@ -0,0 +1,53 @@
+package dev.rocksdb.explorer.decoder;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Strict UTF-8: values with malformed sequences are rejected rather than
+ * rendered with replacement characters.
+ */
+@Component
+public class Utf8ValueDecoder implements ValueDecoder {
+
+    @Override
+    public String name() {
+        return "utf8";
+    }
+
+    @Override
+    public String decode(ByteBuffer value) {
+        return decode(value, true);
+    }
+
+    @Override
+    public String preview(ByteBuffer head, int maxBytes) {
+        return decode(head, false);
+    }
+
+    /**
+     * Decodes {@code bytes} as UTF-8. Unless {@code endOfInput}, a character
+     * cut off at the end is dropped instead of treated as malformed.
+     */
+    static String decode(ByteBuffer bytes, boolean endOfInput) {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPORT)
+            .onUnmappableCharacter(CodingErrorAction.REPORT);
+        // UTF-8 never decodes to more chars than it has bytes
+        CharBuffer out = CharBuffer.allocate(bytes.remaining());
+        CoderResult result = decoder.decode(bytes, out, endOfInput);
+        if (result.isError()) {
+            throw new IllegalArgumentException("Value is not valid UTF-8");
+        }
+        if (endOfInput) {
+            decoder.flush(out);
+        }
+        return out.flip().toString();
+    }
+}
@@ -0,0 +1,37 @@
+package dev.rocksdb.explorer.decoder;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Renders raw values for display. Implementations are Spring beans, picked by
+ * key prefix ({@code explorer.values.decoders}) or by name per request.
+ *
+ * Implementations must be stateless: one instance serves concurrent scans.
+ * They read the buffers they are given but must not rely on their position
+ * or limit staying unchanged afterwards.
+ */
+public interface ValueDecoder {
+
+    /**
+     * Name used in configuration and the {@code decoder} request parameter.
+     */
+    String name();
+
+    /**
+     * Renders a whole value.
+     *
+     * @throws IllegalArgumentException if the value is not in this format
+     */
+    String decode(ByteBuffer value);
+
+    /**
+     * Renders the first bytes of a longer value for entry lists. {@code head}
+     * may be cut anywhere, including in the middle of a character or field;
+     * the rendering should be at most about {@code maxBytes} long.
+     *
+     * @throws IllegalArgumentException if the value is not in this format
+     */
+    default String preview(ByteBuffer head, int maxBytes) {
+        return decode(head);
+    }
+}
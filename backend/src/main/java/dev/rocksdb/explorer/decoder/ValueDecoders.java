@@ -0,0 +1,131 @@
+package dev.rocksdb.explorer.decoder;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.springframework.stereotype.Component;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+import dev.rocksdb.explorer.model.DecodedValue;
+import dev.rocksdb.explorer.model.EntryPreview;
+
+/**
+ * Picks a {@link ValueDecoder} for each key and renders values with it.
+ *
+ * Entry lists only ever see a preview of the first
+ * {@code explorer.values.preview-size} bytes of each value; the full value
+ * is decoded when a single entry is fetched. Values the chosen decoder
+ * rejects are shown as hex instead of failing the whole page.
+ */
+@Component
+public class ValueDecoders {
+    private final Map<String, ValueDecoder> byName = new TreeMap<>();
+    private final List<Map.Entry<byte[], ValueDecoder>> byPrefix;
+    private final ValueDecoder defaultDecoder;
+    private final ValueDecoder fallback;
+    private final int previewSize;
+
+    public ValueDecoders(List<ValueDecoder> decoders, ExplorerProperties properties) {
+        for (ValueDecoder decoder : decoders) {
+            if (byName.putIfAbsent(decoder.name(), decoder) != null) {
+                throw new IllegalStateException("Duplicate value decoder: " + decoder.name());
+            }
+        }
+        ExplorerProperties.Values values = properties.getValues();
+        this.defaultDecoder = get(values.getDefaultDecoder());
+        this.fallback = get(HexValueDecoder.NAME);
+        // Longest prefix first, so the most specific one wins
+        this.byPrefix = values.getDecoders().entrySet().stream()
+            .map(entry -> Map.entry(entry.getKey().getBytes(StandardCharsets.UTF_8), get(entry.getValue())))
+            .sorted(Comparator.comparingInt((Map.Entry<byte[], ValueDecoder> entry) -> entry.getKey().length)
+                .reversed())
+            .toList();
+        this.previewSize = Math.toIntExact(values.getPreviewSize().toBytes());
+    }
+
+    public Set<String> names() {
+        return byName.keySet();
+    }
+
+    /**
+     * Number of value bytes read for a preview.
+     */
+    public int previewSize() {
+        return previewSize;
+    }
+
+    public ValueDecoder get(String name) {
+        ValueDecoder decoder = byName.get(name);
+        if (decoder == null) {
+            throw new IllegalArgumentException("Unknown decoder: " + name + "; available: " + byName.keySet());
+        }
+        return decoder;
+    }
+
+    /**
+     * Returns the decoder configured for the longest matching key prefix, or
+     * the default one.
+     */
+    public ValueDecoder forKey(byte[] key) {
+        for (Map.Entry<byte[], ValueDecoder> entry : byPrefix) {
+            byte[] prefix = entry.getKey();
+            if (key.length >= prefix.length && Arrays.equals(key, 0, prefix.length, prefix, 0, prefix.length)) {
+                return entry.getValue();
+            }
+        }
+        return defaultDecoder;
+    }
+
+    /**
+     * Renders the preview of a value {@code length} bytes long, of which
+     * {@code head} holds the first ones.
+     */
+    public EntryPreview preview(byte[] key, ByteBuffer head, int length) {
+        boolean truncated = length > head.remaining();
+        ValueDecoder decoder = forKey(key);
+        String preview;
+        try {
+            preview = render(decoder, head.duplicate(), truncated);
+        } catch (IllegalArgumentException e) {
+            decoder = fallback;
+            preview = render(decoder, head.duplicate(), truncated);
+        }
+        return new EntryPreview(new String(key, StandardCharsets.UTF_8), length, truncated, decoder.name(), preview);
+    }
+
+    /**
+     * Decodes a whole value with the decoder named {@code decoderName}, or
+     * with the one configured for its key if {@code null}. An explicitly
+     * requested decoder that rejects the value is an error; otherwise the
+     * value falls back to hex.
+     */
+    public DecodedValue decode(byte[] key, byte[] value, String decoderName) {
+        String keyString = new String(key, StandardCharsets.UTF_8);
+        if (decoderName != null) {
+            ValueDecoder decoder = get(decoderName);
+            return new DecodedValue(keyString, value.length, decoder.name(), decoder.decode(ByteBuffer.wrap(value)));
+        }
+        ValueDecoder decoder = forKey(key);
+        try {
+            return new DecodedValue(keyString, value.length, decoder.name(), decoder.decode(ByteBuffer.wrap(value)));
+        } catch (IllegalArgumentException e) {
+            return new DecodedValue(keyString, value.length, fallback.name(), fallback.decode(ByteBuffer.wrap(value)));
+        }
+    }
+
+    static byte[] toArray(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(buffer.position(), bytes);
+        return bytes;
+    }
+
+    private String render(ValueDecoder decoder, ByteBuffer head, boolean truncated) {
+        return truncated ? decoder.preview(head, previewSize) : decoder.decode(head);
+    }
+}
@@ -0,0 +1,52 @@
+package dev.rocksdb.explorer.decoder;
+
+import java.nio.ByteBuffer;
+import java.util.StringJoiner;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * A sequence of unsigned LEB128 varints, as used by protobuf for integers
+ * and packed repeated fields, rendered as space-separated decimals.
+ */
+@Component
+public class VarintValueDecoder implements ValueDecoder {
+    private static final int MAX_VARINT_BYTES = 10;
+
+    @Override
+    public String name() {
+        return "varint";
+    }
+
+    @Override
+    public String decode(ByteBuffer value) {
+        return decode(value, true);
+    }
+
+    @Override
+    public String preview(ByteBuffer head, int maxBytes) {
+        return decode(head, false);
+    }
+
+    private static String decode(ByteBuffer bytes, boolean endOfInput) {
+        StringJoiner numbers = new StringJoiner(" ");
+        long number = 0;
+        int length = 0;
+        while (bytes.hasRemaining()) {
+            byte b = bytes.get();
+            if (length == MAX_VARINT_BYTES) {
+                throw new IllegalArgumentException("Varint longer than " + MAX_VARINT_BYTES + " bytes");
+            }
+            number |= (long) (b & 0x7f) << (7 * length++);
+            if (b >= 0) {
+                numbers.add(Long.toUnsignedString(number));
+                number = 0;
+                length = 0;
+            }
+        }
+        if (length > 0 && endOfInput) {
+            throw new IllegalArgumentException("Value ends in the middle of a varint");
+        }
+        return numbers.toString();
+    }
+}
@@ -0,0 +1,9 @@
+package dev.rocksdb.explorer.model;
+
+import java.util.List;
+
+/**
+ * Keys to look up; {@code decoder} overrides the decoder configured for them.
+ */
+public record BatchGetRequest(List<String> keys, String decoder) {
+}
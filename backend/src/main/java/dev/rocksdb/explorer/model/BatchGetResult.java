@@ -0,0 +1,10 @@
+package dev.rocksdb.explorer.model;
+
+import java.util.List;
+
+/**
+ * Result of a batched lookup: the keys that exist with their values, and the
+ * ones that do not, each in the order they were requested.
+ */
+public record BatchGetResult(List<DecodedValue> entries, List<String> missing) {
+}
@@ -0,0 +1,13 @@
+package dev.rocksdb.explorer.model;
+
+/**
+ * @param capacity    configured size of the shared block cache in bytes
+ * @param usage       bytes currently held by the cache
+ * @param pinnedUsage bytes held by entries that are in use and cannot be evicted
+ * @param hits        block cache hits across all databases since startup
+ * @param misses      block cache misses across all databases since startup
+ * @param hitRate     {@code hits / (hits + misses)}, or 0 before the first lookup
+ */
+public record BlockCacheStats(String type, long capacity, long usage, long pinnedUsage, long hits, long misses,
+        double hitRate) {
+}
@@ -0,0 +1,10 @@
+package dev.rocksdb.explorer.model;
+
+import java.util.List;
+
+/**
+ * Keys changed since the previous batch, as of RocksDB sequence number
+ * {@code sequence}.
+ */
+public record ChangeBatch(long sequence, List<KeyChange> changes) {
+}
@@ -0,0 +1,8 @@
+package dev.rocksdb.explorer.model;
+
+/**
+ * @param estimatedKeys     RocksDB's estimate of the number of keys
+ * @param estimatedDataSize RocksDB's estimate of the live data size in bytes
+ */
+public record ColumnFamilyInfo(String name, long estimatedKeys, long estimatedDataSize) {
+}
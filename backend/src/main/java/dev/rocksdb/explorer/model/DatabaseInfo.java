@@ -0,0 +1,7 @@
+package dev.rocksdb.explorer.model;
+
+import java.time.Instant;
+import java.util.List;
+
+public record DatabaseInfo(String id, Instant openedAt, String contentDigest, List<String> columnFamilies) {
+}
@@ -0,0 +1,15 @@
+package dev.rocksdb.explorer.model;
+
+import java.util.List;
+
+/**
+ * Size estimates of one column family, answered from metadata without
+ * reading any data blocks.
+ *
+ * @param estimatedKeys        RocksDB's estimate of the number of keys
+ * @param rangeApproximateSize approximate bytes of the requested key range,
+ *                             or {@code null} if no range was given
+ */
+public record DatabaseStats(String columnFamily, long estimatedKeys, long liveDataSize, long sstFilesSize,
+        long memtableSize, Long rangeApproximateSize, List<LevelStats> levels, TableStats tables) {
+}
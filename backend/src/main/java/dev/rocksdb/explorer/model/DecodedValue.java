@@ -0,0 +1,8 @@
+package dev.rocksdb.explorer.model;
+
+/**
+ * A whole value rendered by the named decoder. {@code length} is the size of
+ * the raw value in bytes.
+ */
+public record DecodedValue(String key, int length, String decoder, String value) {
+}
@@ -0,0 +1,30 @@
+package dev.rocksdb.explorer.model;
+
+import java.util.Locale;
+
+public enum EntryFormat {
+    /** A single JSON object mapping keys to values, in key order. */
+    JSON("application/json"),
+    /** One {@code {"key": ..., "value": ...}} object per line. */
+    NDJSON("application/x-ndjson"),
+    /** A {@code key,value} header followed by one RFC 4180 row per entry. */
+    CSV("text/csv");
+
+    private final String mediaType;
+
+    EntryFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public static EntryFormat parse(String format) {
+        try {
+            return valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported format: " + format);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package dev.rocksdb.explorer.model;
+
+import java.util.List;
+
+/**
+ * One page of entries in key order. {@code nextAfter} is the cursor for the
+ * following page and is {@code null} once the end of the database is reached.
+ */
+public record EntryPage(List<EntryPreview> entries, String nextAfter) {
+}
@@ -0,0 +1,9 @@
+package dev.rocksdb.explorer.model;
+
+/**
+ * An entry as listed: the value's full length in bytes and a rendering of at
+ * most its first bytes. {@code truncated} is set when the value is longer
+ * than the preview; fetch the entry by key to decode all of it.
+ */
+public record EntryPreview(String key, int length, boolean truncated, String decoder, String preview) {
+}
@@ -0,0 +1,36 @@
+package dev.rocksdb.explorer.model;
+
+import java.util.Locale;
+
+public enum ExportCompression {
+    NONE(null, ""),
+    GZIP("application/gzip", ".gz"),
+    ZSTD("application/zstd", ".zst");
+
+    private final String mediaType;
+    private final String fileExtension;
+
+    ExportCompression(String mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    /**
+     * Media type of the compressed output, or {@code null} for {@link #NONE}.
+     */
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    public static ExportCompression parse(String compression) {
+        try {
+            return valueOf(compression.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported compression: " + compression);
+        }
+    }
+}
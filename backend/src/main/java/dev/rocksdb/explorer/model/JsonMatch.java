@@ -0,0 +1,12 @@
+package dev.rocksdb.explorer.model;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A matching entry with the selected fields of its value by path;
+ * {@code null} for fields the value does not have.
+ */
+public record JsonMatch(String key, Map<String, JsonNode> fields) {
+}
@@ -0,0 +1,12 @@
+package dev.rocksdb.explorer.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A condition on one field of a JSON value, such as
+ * {@code {"field": "metrics.cpu", "op": "gt", "value": 90}}. {@code op} is
+ * one of {@code eq}, {@code ne}, {@code gt}, {@code gte}, {@code lt},
+ * {@code lte}, {@code contains} and {@code exists}.
+ */
+public record JsonPredicate(String field, String op, JsonNode value) {
+}
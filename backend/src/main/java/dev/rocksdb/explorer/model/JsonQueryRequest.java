@@ -0,0 +1,19 @@
+package dev.rocksdb.explorer.model;
+
+import java.util.List;
+
+/**
+ * Entries of a key range whose JSON values satisfy every predicate in
+ * {@code where}, returning the fields in {@code select}. The range is given
+ * like for entry lists; {@code after} continues from a previous page.
+ */
+public record JsonQueryRequest(
+    String prefix,
+    String from,
+    String to,
+    List<JsonPredicate> where,
+    List<String> select,
+    String after,
+    Integer limit
+) {
+}
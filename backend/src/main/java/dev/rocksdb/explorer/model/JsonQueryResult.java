@@ -0,0 +1,10 @@
+package dev.rocksdb.explorer.model;
+
+import java.util.List;
+
+/**
+ * Matches in key order. {@code nextAfter} is set only when more matches
+ * follow the limit, and continues the query from the last match.
+ */
+public record JsonQueryResult(List<JsonMatch> matches, String nextAfter, int shards) {
+}
@@ -0,0 +1,8 @@
+package dev.rocksdb.explorer.model;
+
+/**
+ * A key whose value changed or that was deleted; {@code value} is
+ * {@code null} for deletions.
+ */
+public record KeyChange(String key, String value, boolean deleted) {
+}
@@ -0,0 +1,24 @@
+package dev.rocksdb.explorer.model;
+
+import java.time.Instant;
+
+/**
+ * Snapshot of the key index of one column family. {@code keysIndexed} grows
+ * while the index is being built; {@code error} is set if building failed.
+ */
+public record KeyIndexInfo(
+    String databaseId,
+    String columnFamily,
+    State state,
+    long keysIndexed,
+    long postings,
+    Instant startedAt,
+    Instant finishedAt,
+    String error
+) {
+    public enum State {
+        BUILDING,
+        READY,
+        FAILED
+    }
+}
@@ -0,0 +1,11 @@
+package dev.rocksdb.explorer.model;
+
+/**
+ * Live SST files of one LSM level, from file metadata.
+ *
+ * @param smallestKey smallest key of any file on the level
+ * @param largestKey  largest key of any file on the level
+ */
+public record LevelStats(int level, int files, long size, long entries, long deletions, String smallestKey,
+        String largestKey) {
+}
@@ -0,0 +1,8 @@
+package dev.rocksdb.explorer.model;
+
+/**
+ * @param path      directory holding the database, or a directory above it
+ * @param secondary open as a secondary instance instead of read-only
+ */
+public record LocalDatabaseRequest(String path, boolean secondary) {
+}
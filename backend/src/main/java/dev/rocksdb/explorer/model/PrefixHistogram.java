@@ -0,0 +1,11 @@
+package dev.rocksdb.explorer.model;
+
+import java.util.List;
+
+/**
+ * @param prefixes per-prefix statistics, in the order the prefixes were first seen
+ * @param other    keys whose prefix did not fit into the prefix limit, or
+ *                 {@code null} if every prefix was reported
+ */
+public record PrefixHistogram(String delimiter, List<PrefixStats> prefixes, PrefixStats other) {
+}
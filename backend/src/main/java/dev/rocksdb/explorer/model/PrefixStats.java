@@ -0,0 +1,14 @@
+package dev.rocksdb.explorer.model;
+
+/**
+ * Keys sharing one prefix. Value size quantiles are estimates within about
+ * 2% of the true size.
+ *
+ * @param prefix     key bytes up to and including the first delimiter; empty
+ *                   for keys without a delimiter
+ * @param keyBytes   total size of the keys
+ * @param valueBytes total size of the values
+ */
+public record PrefixStats(String prefix, long count, long keyBytes, long valueBytes, long p50ValueSize,
+        long p99ValueSize, long maxValueSize) {
+}
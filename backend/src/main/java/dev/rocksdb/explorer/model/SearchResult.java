@@ -0,0 +1,10 @@
+package dev.rocksdb.explorer.model;
+
+import java.util.List;
+
+/**
+ * Matches in key order. {@code truncated} is set only when more entries
+ * than the hit limit match, and the scan stopped early.
+ */
+public record SearchResult(List<EntryPreview> matches, boolean truncated, int shards) {
+}
@@ -0,0 +1,12 @@
+package dev.rocksdb.explorer.model;
+
+/**
+ * An entry of a loose SST file, listed like {@link EntryPreview} together
+ * with the file it was read from.
+ */
+public record SstEntry(String file, String key, int length, boolean truncated, String decoder, String preview) {
+
+    public static SstEntry of(String file, EntryPreview entry) {
+        return new SstEntry(file, entry.key(), entry.length(), entry.truncated(), entry.decoder(), entry.preview());
+    }
+}
@@ -0,0 +1,11 @@
+package dev.rocksdb.explorer.model;
+
+import java.util.List;
+
+/**
+ * One page of entries merged from a set of SST files in key order.
+ * {@code nextAfter} is the cursor for the following page and is {@code null}
+ * once every file is exhausted.
+ */
+public record SstEntryPage(List<SstEntry> entries, String nextAfter) {
+}
@@ -0,0 +1,29 @@
+package dev.rocksdb.explorer.model;
+
+/**
+ * One loose SST file with the properties stored in its table and the range
+ * of keys it holds.
+ *
+ * @param name         path of the file within the set
+ * @param columnFamily column family the file was written for, if recorded
+ * @param smallestKey  first key, or {@code null} if the file is empty
+ * @param largestKey   last key, or {@code null} if the file is empty
+ */
+public record SstFileInfo(
+    String name,
+    long size,
+    String columnFamily,
+    String comparator,
+    String compression,
+    long entries,
+    long deletions,
+    long rangeDeletions,
+    long rawKeySize,
+    long rawValueSize,
+    long dataSize,
+    long indexSize,
+    long filterSize,
+    String smallestKey,
+    String largestKey
+) {
+}
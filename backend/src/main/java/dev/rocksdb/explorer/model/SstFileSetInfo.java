@@ -0,0 +1,11 @@
+package dev.rocksdb.explorer.model;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A set of loose SST files opened together, in the order their entries are
+ * merged when keys tie.
+ */
+public record SstFileSetInfo(String id, Instant openedAt, List<SstFileInfo> files) {
+}
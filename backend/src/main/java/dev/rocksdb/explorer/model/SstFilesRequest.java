@@ -0,0 +1,7 @@
+package dev.rocksdb.explorer.model;
+
+/**
+ * @param path directory holding the SST files; subdirectories are searched too
+ */
+public record SstFilesRequest(String path) {
+}
@@ -0,0 +1,16 @@
+package dev.rocksdb.explorer.model;
+
+import java.util.List;
+
+/**
+ * Totals of the properties block of every live SST file.
+ *
+ * @param rawKeySize   bytes of internal keys before compression and encoding, which
+ *                     are the user keys with an 8-byte sequence number and type each
+ * @param rawValueSize bytes of values before compression and encoding
+ * @param dataSize     bytes of data blocks on disk
+ * @param compression  compression algorithms in use
+ */
+public record TableStats(long rawKeySize, long rawValueSize, long dataSize, long indexSize, long filterSize,
+        List<String> compression) {
+}
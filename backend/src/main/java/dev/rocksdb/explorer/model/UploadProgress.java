@@ -0,0 +1,30 @@
+package dev.rocksdb.explorer.model;
+
+/**
+ * Snapshot of an upload job. {@code archiveBytesRead} out of
+ * {@code archiveSize} tells how far extraction has got; {@code databaseId} is
+ * set once the database is open and {@code error} if the job failed.
+ */
+public record UploadProgress(
+    String jobId,
+    State state,
+    long archiveSize,
+    long archiveBytesRead,
+    long bytesExtracted,
+    int filesExtracted,
+    long keysScanned,
+    String databaseId,
+    String error
+) {
+    public enum State {
+        QUEUED,
+        EXTRACTING,
+        SCANNING,
+        DONE,
+        FAILED;
+
+        public boolean isFinished() {
+            return this == DONE || this == FAILED;
+        }
+    }
+}
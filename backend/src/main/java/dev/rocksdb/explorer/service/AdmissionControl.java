@@ -0,0 +1,117 @@
+package dev.rocksdb.explorer.service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.stereotype.Component;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+
+/**
+ * Caps how many requests use each kind of native resource at once. With
+ * requests on virtual threads there is no thread pool left to queue them, so
+ * a request that finds no free slot is rejected right away (or after
+ * {@code explorer.admission.max-wait}) instead of adding to the latency of
+ * everyone else. The caps also keep carrier threads free: a virtual thread
+ * in a JNI call or a scan loop does not yield its carrier, so admitting as
+ * many native operations as there are cores would stall every request.
+ * Background jobs take the same slots, but wait for them with
+ * {@link #await} instead of being rejected.
+ */
+@Component
+public class AdmissionControl {
+
+    public enum Resource {
+        /** Unpacking an uploaded archive and opening it. */
+        EXTRACTION("extractions"),
+        /** Opening a database in place, which reads its manifest and table metadata. */
+        OPEN("database opens"),
+        /** Iterating over a whole key range. */
+        SCAN("scans");
+
+        private final String description;
+
+        Resource(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    private final Map<Resource, Semaphore> slots = new EnumMap<>(Resource.class);
+    private final Duration maxWait;
+
+    public AdmissionControl(ExplorerProperties properties) {
+        ExplorerProperties.Admission limits = properties.getAdmission();
+        slots.put(Resource.EXTRACTION, new Semaphore(limits.getMaxExtractions()));
+        slots.put(Resource.OPEN, new Semaphore(limits.getMaxOpens()));
+        slots.put(Resource.SCAN, new Semaphore(limits.getMaxScans()));
+        this.maxWait = limits.getMaxWait();
+    }
+
+    /**
+     * Takes a slot for {@code resource}, to be returned by closing the permit.
+     *
+     * @throws AdmissionRejectedException if no slot became free in time
+     */
+    public Permit admit(Resource resource) {
+        Semaphore semaphore = slots.get(resource);
+        boolean acquired;
+        try {
+            acquired = maxWait.isZero()
+                ? semaphore.tryAcquire()
+                : semaphore.tryAcquire(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            throw new AdmissionRejectedException(resource);
+        }
+        return new Permit(semaphore);
+    }
+
+    /**
+     * Takes a slot for {@code resource}, waiting for as long as it takes.
+     * For background work, which has no client to reject and would
+     * otherwise add to the native work of the admitted requests.
+     */
+    public Permit await(Resource resource) throws InterruptedException {
+        Semaphore semaphore = slots.get(resource);
+        semaphore.acquire();
+        return new Permit(semaphore);
+    }
+
+    /**
+     * Number of free slots for {@code resource}.
+     */
+    public int available(Resource resource) {
+        return slots.get(resource).availablePermits();
+    }
+
+    /**
+     * A held slot. Closing it more than once releases it only once, so it can
+     * be closed both by a streaming body and when its async request completes.
+     */
+    public static final class Permit implements AutoCloseable {
+        private final Semaphore semaphore;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Semaphore semaphore) {
+            this.semaphore = semaphore;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                semaphore.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package dev.rocksdb.explorer.service;
+
+public class AdmissionRejectedException extends RuntimeException {
+
+    public AdmissionRejectedException(AdmissionControl.Resource resource) {
+        super("Too many concurrent " + resource.getDescription() + "; try again later");
+    }
+
+    public AdmissionRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,345 @@
+package dev.rocksdb.explorer.service;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import org.springframework.stereotype.Component;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Unpacks a zip archive into a directory. A stream is extracted in a single
+ * pass without spooling the archive itself to disk first; an archive that is
+ * already a file is read through its central directory and its entries are
+ * inflated in parallel.
+ */
+@Component
+@RequiredArgsConstructor
+public class ArchiveExtractor {
+    /**
+     * Small database metadata first, then the largest files, so no thread
+     * is left inflating a big SST file after all the others are done.
+     */
+    private static final Comparator<ZipEntry> EXTRACTION_ORDER = Comparator
+        .comparing((ZipEntry entry) -> !isMetadata(entry))
+        .thenComparing(Comparator.comparingLong(ZipEntry::getSize).reversed());
+
+    private final ExplorerProperties properties;
+    private final ExecutorService extractionExecutor;
+
+    /**
+     * Extracts {@code archive} into {@code target}, locating the RocksDB files
+     * and hashing the archive bytes on the way.
+     *
+     * @throws ArchiveTooLargeException if the archive exceeds the upload limit
+     *         or its contents exceed the session disk budget
+     */
+    public ExtractedArchive extract(InputStream archive, Path target) throws IOException {
+        return extract(archive, target, Listener.NONE);
+    }
+
+    /**
+     * Like {@link #extract(InputStream, Path)}, reporting progress to
+     * {@code listener} on the extracting thread.
+     */
+    public ExtractedArchive extract(InputStream archive, Path target, Listener listener) throws IOException {
+        int bufferSize = (int) properties.getUpload().getBufferSize().toBytes();
+        long maxArchiveSize = properties.getUpload().getMaxSize().toBytes();
+        long maxExtractedSize = properties.getSession().getMaxDiskUsage().toBytes();
+
+        Path root = target.toAbsolutePath().normalize();
+        Path dbDirectory = null;
+        long extracted = 0;
+        byte[] buffer = new byte[bufferSize];
+
+        MessageDigest digest = newDigest();
+        InputStream buffered = new BufferedInputStream(
+            new DigestInputStream(new LimitedInputStream(archive, maxArchiveSize, listener), digest), bufferSize);
+        try (ZipInputStream zis = new ZipInputStream(buffered)) {
+            for (ZipEntry entry = zis.getNextEntry(); entry != null; entry = zis.getNextEntry()) {
+                Path filePath = resolve(root, entry);
+                if (entry.isDirectory()) {
+                    continue;
+                }
+
+                Files.createDirectories(filePath.getParent());
+                try (OutputStream out = Files.newOutputStream(filePath, StandardOpenOption.CREATE_NEW)) {
+                    for (int n = zis.read(buffer); n > 0; n = zis.read(buffer)) {
+                        extracted += n;
+                        if (extracted > maxExtractedSize) {
+                            throw new ArchiveTooLargeException(
+                                "Extracted database exceeds " + properties.getSession().getMaxDiskUsage());
+                        }
+                        out.write(buffer, 0, n);
+                        listener.extracted(n);
+                    }
+                }
+                listener.fileExtracted(filePath);
+                if (dbDirectory == null && DatabaseFiles.isMarker(filePath)) {
+                    dbDirectory = filePath.getParent();
+                }
+            }
+            // The central directory after the last entry is part of the digest too
+            buffered.transferTo(OutputStream.nullOutputStream());
+        }
+        return new ExtractedArchive(dbDirectory, HexFormat.of().formatHex(digest.digest()), extracted);
+    }
+
+    /**
+     * Extracts the zip file {@code archive} into {@code target}. Every entry
+     * is checked against the extraction directory and the disk budget before
+     * anything is written, then the entries are inflated on the extraction
+     * pool, which is shared by all extractions, and written through file
+     * channels.
+     *
+     * The archive is not hashed again: {@code digest} is its SHA-256 as
+     * computed by {@link #digest}, which callers need for the cache lookup
+     * anyway. Progress is reported to {@code listener} from the extracting
+     * threads, concurrently.
+     *
+     * @throws ArchiveTooLargeException if the archive exceeds the upload limit
+     *         or its contents exceed the session disk budget
+     */
+    public ExtractedArchive extract(Path archive, String digest, Path target, Listener listener) throws IOException {
+        if (Files.size(archive) > properties.getUpload().getMaxSize().toBytes()) {
+            throw new ArchiveTooLargeException("Archive exceeds " + properties.getUpload().getMaxSize());
+        }
+        long maxExtractedSize = properties.getSession().getMaxDiskUsage().toBytes();
+        Path root = target.toAbsolutePath().normalize();
+
+        try (ZipFile zip = new ZipFile(archive.toFile())) {
+            List<ZipEntry> files = new ArrayList<>();
+            Path dbDirectory = null;
+            long declaredSize = 0;
+            for (ZipEntry entry : Collections.list(zip.entries())) {
+                Path filePath = resolve(root, entry);
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                if (dbDirectory == null && DatabaseFiles.isMarker(filePath)) {
+                    dbDirectory = filePath.getParent();
+                }
+                // Sizes in the central directory may be missing or lie; the inflated bytes are counted as well
+                declaredSize += Math.max(entry.getSize(), 0);
+                files.add(entry);
+            }
+            if (declaredSize > maxExtractedSize) {
+                throw new ArchiveTooLargeException(
+                    "Extracted database exceeds " + properties.getSession().getMaxDiskUsage());
+            }
+            files.sort(EXTRACTION_ORDER);
+
+            AtomicLong extracted = new AtomicLong();
+            inflateAll(zip, root, files, extracted, maxExtractedSize, listener);
+            return new ExtractedArchive(dbDirectory, digest, extracted.get());
+        }
+    }
+
+    private void inflateAll(ZipFile zip, Path root, List<ZipEntry> files, AtomicLong extracted,
+            long maxExtractedSize, Listener listener) throws IOException {
+        CompletionService<Void> completion = new ExecutorCompletionService<>(extractionExecutor);
+        AtomicBoolean aborted = new AtomicBoolean();
+        Throwable failure = null;
+        int pending = 0;
+        for (ZipEntry entry : files) {
+            try {
+                completion.submit(() -> {
+                    if (!aborted.get()) {
+                        inflate(zip, entry, resolve(root, entry), extracted, maxExtractedSize, listener, aborted);
+                    }
+                    return null;
+                });
+                pending++;
+            } catch (RejectedExecutionException e) {
+                failure = e;
+                aborted.set(true);
+                break;
+            }
+        }
+
+        // The pool is shared, so every task of this archive is waited for
+        // instead; none may still write once the caller cleans up
+        boolean interrupted = false;
+        while (pending > 0) {
+            Future<Void> done;
+            try {
+                done = completion.take();
+            } catch (InterruptedException e) {
+                interrupted = true;
+                aborted.set(true);
+                continue;
+            }
+            pending--;
+            if (done.state() == Future.State.FAILED && failure == null) {
+                failure = done.exceptionNow();
+                aborted.set(true);
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Extraction was interrupted");
+        }
+        if (failure != null) {
+            throw rethrow(failure);
+        }
+    }
+
+    private void inflate(ZipFile zip, ZipEntry entry, Path filePath, AtomicLong extracted, long maxExtractedSize,
+            Listener listener, AtomicBoolean aborted) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) properties.getUpload().getBufferSize().toBytes());
+        Files.createDirectories(filePath.getParent());
+        try (InputStream in = zip.getInputStream(entry);
+                FileChannel out = FileChannel.open(filePath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            for (int n = in.read(buffer.array()); n > 0; n = in.read(buffer.array())) {
+                if (aborted.get()) {
+                    throw new InterruptedIOException("Extraction was aborted");
+                }
+                if (extracted.addAndGet(n) > maxExtractedSize) {
+                    throw new ArchiveTooLargeException(
+                        "Extracted database exceeds " + properties.getSession().getMaxDiskUsage());
+                }
+                buffer.clear().limit(n);
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                listener.extracted(n);
+            }
+        }
+        listener.archiveRead(entry.getCompressedSize());
+        listener.fileExtracted(filePath);
+    }
+
+    private static IOException rethrow(Throwable cause) {
+        if (cause instanceof IOException e) {
+            return e;
+        }
+        if (cause instanceof RuntimeException e) {
+            throw e;
+        }
+        if (cause instanceof Error e) {
+            throw e;
+        }
+        return new IOException(cause);
+    }
+
+    private static Path resolve(Path root, ZipEntry entry) throws IOException {
+        Path filePath = root.resolve(entry.getName()).normalize();
+        if (!filePath.startsWith(root)) {
+            throw new IOException("Archive entry outside of the extraction directory: " + entry.getName());
+        }
+        return filePath;
+    }
+
+    private static boolean isMetadata(ZipEntry entry) {
+        String name = entry.getName().substring(entry.getName().lastIndexOf('/') + 1);
+        return name.equals("CURRENT") || name.equals("IDENTITY")
+            || name.startsWith("MANIFEST") || name.startsWith("OPTIONS");
+    }
+
+    /**
+     * Hashes an archive the same way {@link #extract} does, for uploads that
+     * are already fully received and can be looked up before extracting.
+     */
+    public static String digest(InputStream archive) throws IOException {
+        MessageDigest digest = newDigest();
+        try (InputStream in = new DigestInputStream(archive, digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Receives extraction progress. Calls should return quickly; they are
+     * made from the extracting thread, or from several threads at once when
+     * an archive file is extracted in parallel.
+     */
+    public interface Listener {
+        Listener NONE = new Listener() {
+        };
+
+        /** {@code n} more bytes of the archive itself were read. */
+        default void archiveRead(long n) {
+        }
+
+        /** {@code n} more bytes were written to extracted files. */
+        default void extracted(int n) {
+        }
+
+        default void fileExtracted(Path file) {
+        }
+    }
+
+    private class LimitedInputStream extends FilterInputStream {
+        private final long limit;
+        private final Listener listener;
+        private long read;
+
+        LimitedInputStream(InputStream in, long limit, Listener listener) {
+            super(in);
+            this.limit = limit;
+            this.listener = listener;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        private void count(int n) {
+            read += n;
+            listener.archiveRead(n);
+            if (read > limit) {
+                throw new ArchiveTooLargeException("Archive exceeds " + properties.getUpload().getMaxSize());
+            }
+        }
+    }
+}
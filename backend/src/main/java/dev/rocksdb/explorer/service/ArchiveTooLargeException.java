@@ -0,0 +1,8 @@
+package dev.rocksdb.explorer.service;
+
+public class ArchiveTooLargeException extends RuntimeException {
+
+    public ArchiveTooLargeException(String message) {
+        super(message);
+    }
+}
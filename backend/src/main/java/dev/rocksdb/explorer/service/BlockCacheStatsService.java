@@ -0,0 +1,36 @@
+package dev.rocksdb.explorer.service;
+
+import org.rocksdb.Cache;
+import org.rocksdb.Statistics;
+import org.rocksdb.TickerType;
+import org.springframework.stereotype.Service;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+import dev.rocksdb.explorer.model.BlockCacheStats;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Reports how well the block cache shared by all open databases is working.
+ * Bulk scans bypass the cache, so the hit rate reflects paged browsing and
+ * point lookups.
+ */
+@Service
+@RequiredArgsConstructor
+public class BlockCacheStatsService {
+    private final Cache blockCache;
+    private final Statistics statistics;
+    private final ExplorerProperties properties;
+
+    public BlockCacheStats blockCacheStats() {
+        long hits = statistics.getTickerCount(TickerType.BLOCK_CACHE_HIT);
+        long misses = statistics.getTickerCount(TickerType.BLOCK_CACHE_MISS);
+        return new BlockCacheStats(
+            properties.getBlockCache().getType().name(),
+            properties.getBlockCache().getSize().toBytes(),
+            blockCache.getUsage(),
+            blockCache.getPinnedUsage(),
+            hits,
+            misses,
+            hits + misses == 0 ? 0 : (double) hits / (hits + misses));
+    }
+}
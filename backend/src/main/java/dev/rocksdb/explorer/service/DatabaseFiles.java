@@ -0,0 +1,77 @@
+package dev.rocksdb.explorer.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Recognizes RocksDB database directories on disk.
+ */
+public final class DatabaseFiles {
+
+    private DatabaseFiles() {
+    }
+
+    /**
+     * Whether {@code file} is one of the files that only appear in a RocksDB
+     * database directory, like CURRENT or a MANIFEST.
+     */
+    public static boolean isMarker(Path file) {
+        String name = file.getFileName().toString();
+        return name.equals("CURRENT") || name.startsWith("MANIFEST");
+    }
+
+    /**
+     * Resolves a directory given by a client to its real path and checks that
+     * it lies under one of {@code allowedRoots}.
+     *
+     * @throws IllegalArgumentException if it does not exist, is not a
+     *         directory or is outside every allowed root
+     */
+    public static Path resolveAllowed(String path, List<Path> allowedRoots) throws IOException {
+        Path resolved;
+        try {
+            resolved = Path.of(path).toRealPath();
+        } catch (InvalidPathException | NoSuchFileException e) {
+            throw new IllegalArgumentException("No such directory: " + path);
+        }
+        if (!Files.isDirectory(resolved)) {
+            throw new IllegalArgumentException("Not a directory: " + path);
+        }
+        // Compare real paths so that symlinks and ".." cannot leave an allowed root
+        for (Path root : allowedRoots) {
+            if (Files.isDirectory(root) && resolved.startsWith(root.toRealPath())) {
+                return resolved;
+            }
+        }
+        throw new IllegalArgumentException("Path is not under an allowed root: " + path);
+    }
+
+    public static Path findDatabaseDirectory(Path root) throws IOException {
+        // Avoid walking a large mounted volume when pointed at the database itself
+        if (Files.isRegularFile(root.resolve("CURRENT"))) {
+            return root;
+        }
+        // Look for common RocksDB files like CURRENT, MANIFEST, or *.log
+        try (var files = Files.walk(root)) {
+            return files
+                .filter(Files::isRegularFile)
+                .filter(DatabaseFiles::isMarker)
+                .map(Path::getParent)
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("No RocksDB files found in " + root));
+        }
+    }
+
+    public static long sizeOf(Path directory) throws IOException {
+        try (var files = Files.walk(directory)) {
+            return files
+                .filter(Files::isRegularFile)
+                .mapToLong(p -> p.toFile().length())
+                .sum();
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package dev.rocksdb.explorer.service;
+
+public class DatabaseNotFoundException extends RuntimeException {
+
+    public DatabaseNotFoundException(String id) {
+        super("No open database with id " + id);
+    }
+}
@@ -0,0 +1,238 @@
+package dev.rocksdb.explorer.service;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import lombok.Builder;
+
+/**
+ * An opened database that outlives the request which created it.
+ *
+ * Readers take a {@link Lease} for as long as they use the native handle.
+ * Closing the session only marks it as closing; the handle is released by
+ * whoever returns the last lease, so an iterator is never closed underneath
+ * a running scan.
+ */
+public class DatabaseSession {
+    private static final Logger log = LoggerFactory.getLogger(DatabaseSession.class);
+
+    private final String id;
+    private final RocksDB db;
+    private final Map<String, ColumnFamilyHandle> columnFamilies;
+    private final List<? extends AutoCloseable> resources;
+    private final Path dbPath;
+    private final long diskUsage;
+    private final String contentDigest;
+    private final boolean secondary;
+    private final Runnable onClose;
+    private final Instant openedAt = Instant.now();
+
+    private volatile long lastAccessNanos = System.nanoTime();
+    private int leases;
+    private boolean closing;
+    private boolean closed;
+
+    /**
+     * @param columnFamilies handles of every column family by name, in the
+     *                       order RocksDB lists them
+     * @param resources      options and caches the handle was opened with,
+     *                       closed in order after it
+     * @param diskUsage     bytes of temporary files kept on disk for this session
+     * @param contentDigest digest of the archive the database was extracted
+     *                      from, or {@code null} if it was not uploaded
+     * @param secondary     whether the handle is a secondary instance that can
+     *                      catch up with a primary writing to {@code dbPath}
+     * @param onClose       runs after the native handle has been closed, for
+     *                      example to release the extracted files
+     */
+    @Builder
+    private DatabaseSession(String id, RocksDB db, Map<String, ColumnFamilyHandle> columnFamilies,
+            List<? extends AutoCloseable> resources, Path dbPath, long diskUsage,
+            String contentDigest, boolean secondary, Runnable onClose) {
+        this.id = id;
+        this.db = db;
+        this.columnFamilies = columnFamilies;
+        this.resources = resources;
+        this.dbPath = dbPath;
+        this.diskUsage = diskUsage;
+        this.contentDigest = contentDigest;
+        this.secondary = secondary;
+        this.onClose = onClose;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Path getDbPath() {
+        return dbPath;
+    }
+
+    public List<String> getColumnFamilyNames() {
+        return List.copyOf(columnFamilies.keySet());
+    }
+
+    public Instant getOpenedAt() {
+        return openedAt;
+    }
+
+    /**
+     * Bytes of temporary files kept on disk for this session.
+     */
+    public long getDiskUsage() {
+        return diskUsage;
+    }
+
+    public String getContentDigest() {
+        return contentDigest;
+    }
+
+    public boolean isSecondary() {
+        return secondary;
+    }
+
+    public long getLastAccessNanos() {
+        return lastAccessNanos;
+    }
+
+    public synchronized Lease acquire() {
+        if (closing) {
+            throw new DatabaseNotFoundException(id);
+        }
+        lastAccessNanos = System.nanoTime();
+        leases++;
+        return new Lease();
+    }
+
+    /**
+     * Approximate native memory held by the handle: table readers (index and
+     * filter blocks) and memtables. The block cache is shared by all sessions
+     * and bounded on its own, so it is not included. Does not count as an access.
+     */
+    public long estimateNativeMemory() {
+        return aggregatedProperty("rocksdb.estimate-table-readers-mem")
+            + aggregatedProperty("rocksdb.cur-size-all-mem-tables");
+    }
+
+    /**
+     * A numeric RocksDB property summed over all column families, or 0 once
+     * the session is closing or if it cannot be read. Does not count as an
+     * access.
+     */
+    public long aggregatedProperty(String property) {
+        synchronized (this) {
+            if (closing) {
+                return 0;
+            }
+            leases++;
+        }
+        try {
+            return db.getAggregatedLongProperty(property);
+        } catch (RocksDBException e) {
+            log.warn("Failed to read {} of database {}", property, id, e);
+            return 0;
+        } finally {
+            returnLease();
+        }
+    }
+
+    public synchronized boolean isClosing() {
+        return closing;
+    }
+
+    /**
+     * Whether the native handle has actually been released.
+     */
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    public void close() {
+        synchronized (this) {
+            if (closing) {
+                return;
+            }
+            closing = true;
+            if (leases > 0) {
+                log.info("Database {} still has {} active readers, deferring close", id, leases);
+                return;
+            }
+        }
+        release();
+    }
+
+    private void release() {
+        log.info("Closing database {}", id);
+        columnFamilies.values().forEach(ColumnFamilyHandle::close);
+        db.close();
+        for (AutoCloseable resource : resources) {
+            try {
+                resource.close();
+            } catch (Exception e) {
+                log.warn("Failed to close resource of database {}", id, e);
+            }
+        }
+        synchronized (this) {
+            closed = true;
+        }
+        if (onClose != null) {
+            onClose.run();
+        }
+    }
+
+    private void returnLease() {
+        synchronized (this) {
+            leases--;
+            if (!closing || leases > 0) {
+                return;
+            }
+        }
+        release();
+    }
+
+    public final class Lease implements AutoCloseable {
+        private boolean returned;
+
+        private Lease() {
+        }
+
+        public RocksDB db() {
+            return db;
+        }
+
+        public DatabaseSession session() {
+            return DatabaseSession.this;
+        }
+
+        /**
+         * Returns the handle of the named column family, or of the default
+         * column family if {@code name} is {@code null}.
+         */
+        public ColumnFamilyHandle columnFamily(String name) {
+            if (name == null) {
+                return db.getDefaultColumnFamily();
+            }
+            ColumnFamilyHandle handle = columnFamilies.get(name);
+            if (handle == null) {
+                throw new IllegalArgumentException("Unknown column family: " + name);
+            }
+            return handle;
+        }
+
+        @Override
+        public void close() {
+            if (!returned) {
+                returned = true;
+                returnLease();
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package dev.rocksdb.explorer.service;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Keeps uploaded databases open between requests so that follow-up queries
+ * reuse the native handle instead of extracting and opening the archive again.
+ *
+ * Sessions are closed when they have been idle for longer than the configured
+ * timeout, and least recently used sessions are evicted whenever the number of
+ * open databases, their extracted size on disk or their native memory exceeds
+ * its budget.
+ */
+@Component
+public class DatabaseSessionRegistry {
+    private static final Logger log = LoggerFactory.getLogger(DatabaseSessionRegistry.class);
+
+    private final Map<String, DatabaseSession> sessions = new ConcurrentHashMap<>();
+    private final ExplorerProperties.Session limits;
+    private final List<Consumer<String>> closeListeners = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "session-evictor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public DatabaseSessionRegistry(ExplorerProperties properties) {
+        this.limits = properties.getSession();
+        long interval = limits.getEvictionInterval().toMillis();
+        evictor.scheduleWithFixedDelay(this::evict, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public void register(DatabaseSession session) {
+        sessions.put(session.getId(), session);
+        log.info("Registered database {} ({} open)", session.getId(), sessions.size());
+        enforceBudgets(session);
+    }
+
+    public DatabaseSession get(String id) {
+        DatabaseSession session = sessions.get(id);
+        if (session == null) {
+            throw new DatabaseNotFoundException(id);
+        }
+        return session;
+    }
+
+    public DatabaseSession.Lease acquire(String id) {
+        return get(id).acquire();
+    }
+
+    /**
+     * Returns an open session whose database was extracted from an archive
+     * with the given digest, or {@code null}.
+     */
+    public DatabaseSession findByDigest(String contentDigest) {
+        return sessions.values().stream()
+            .filter(s -> contentDigest.equals(s.getContentDigest()) && !s.isClosing())
+            .findFirst()
+            .orElse(null);
+    }
+
+    public Collection<DatabaseSession> list() {
+        return List.copyOf(sessions.values());
+    }
+
+    /**
+     * Calls {@code listener} with the id of every database closed from now
+     * on, whether explicitly, for idling or by eviction, so that state kept
+     * alongside a session can be released with it.
+     */
+    public void onClose(Consumer<String> listener) {
+        closeListeners.add(listener);
+    }
+
+    public boolean close(String id) {
+        DatabaseSession session = sessions.remove(id);
+        if (session == null) {
+            return false;
+        }
+        session.close();
+        for (Consumer<String> listener : closeListeners) {
+            try {
+                listener.accept(id);
+            } catch (RuntimeException e) {
+                log.warn("Close listener failed for database {}", id, e);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Closes idle sessions, then evicts in LRU order until all budgets hold.
+     */
+    void evict() {
+        try {
+            long idleNanos = limits.getIdleTimeout().toNanos();
+            long now = System.nanoTime();
+            for (DatabaseSession session : list()) {
+                if (now - session.getLastAccessNanos() > idleNanos) {
+                    log.info("Closing idle database {}", session.getId());
+                    close(session.getId());
+                }
+            }
+            enforceBudgets(null);
+        } catch (RuntimeException e) {
+            log.error("Session eviction failed", e);
+        }
+    }
+
+    /**
+     * Evicts least recently used sessions other than {@code keep} until the
+     * open count, disk usage and native memory are within their limits.
+     */
+    private synchronized void enforceBudgets(DatabaseSession keep) {
+        List<DatabaseSession> candidates = list().stream()
+            .filter(s -> s != keep)
+            .sorted(Comparator.comparingLong(DatabaseSession::getLastAccessNanos))
+            .toList();
+
+        int open = sessions.size();
+        long disk = sessions.values().stream().mapToLong(DatabaseSession::getDiskUsage).sum();
+        long memory = sessions.values().stream().mapToLong(DatabaseSession::estimateNativeMemory).sum();
+
+        for (DatabaseSession lru : candidates) {
+            if (open <= limits.getMaxOpen()
+                    && disk <= limits.getMaxDiskUsage().toBytes()
+                    && memory <= limits.getMaxNativeMemory().toBytes()) {
+                return;
+            }
+            log.info("Evicting database {} (open={}, disk={}B, native={}B)", lru.getId(), open, disk, memory);
+            open--;
+            disk -= lru.getDiskUsage();
+            memory -= lru.estimateNativeMemory();
+            close(lru.getId());
+        }
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        evictor.shutdownNow();
+        sessions.keySet().forEach(this::close);
+    }
+}
@@ -0,0 +1,127 @@
+package dev.rocksdb.explorer.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.LiveFileMetaData;
+import org.rocksdb.Range;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.SizeApproximationFlag;
+import org.rocksdb.Slice;
+import org.rocksdb.TableProperties;
+import org.springframework.stereotype.Service;
+
+import dev.rocksdb.explorer.model.DatabaseStats;
+import dev.rocksdb.explorer.model.LevelStats;
+import dev.rocksdb.explorer.model.TableStats;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Answers "how many entries, how big" from RocksDB properties, SST file
+ * metadata and table properties. Nothing here reads data blocks, so the
+ * cost depends on the number of SST files rather than the number of keys.
+ */
+@Service
+@RequiredArgsConstructor
+public class DatabaseStatsService {
+    private final DatabaseSessionRegistry sessionRegistry;
+
+    /**
+     * Returns the statistics of a column family ({@code null} for the default
+     * one). If {@code range} is bounded, its approximate size on disk and in
+     * memtables is included as well.
+     */
+    public DatabaseStats stats(String databaseId, String columnFamily, KeyRange range) throws RocksDBException {
+        try (DatabaseSession.Lease lease = sessionRegistry.acquire(databaseId)) {
+            RocksDB db = lease.db();
+            ColumnFamilyHandle handle = lease.columnFamily(columnFamily);
+            List<LiveFileMetaData> files = liveFiles(db, handle);
+
+            return new DatabaseStats(
+                new String(handle.getName(), StandardCharsets.UTF_8),
+                db.getLongProperty(handle, "rocksdb.estimate-num-keys"),
+                db.getLongProperty(handle, "rocksdb.estimate-live-data-size"),
+                db.getLongProperty(handle, "rocksdb.total-sst-files-size"),
+                db.getLongProperty(handle, "rocksdb.cur-size-all-mem-tables"),
+                range.lower() == null && range.upper() == null ? null : approximateSize(db, handle, range, files),
+                levels(files),
+                tables(db.getPropertiesOfAllTables(handle)));
+        }
+    }
+
+    private static List<LiveFileMetaData> liveFiles(RocksDB db, ColumnFamilyHandle handle) throws RocksDBException {
+        byte[] name = handle.getName();
+        return db.getLiveFilesMetaData().stream()
+            .filter(file -> Arrays.equals(file.columnFamilyName(), name))
+            .toList();
+    }
+
+    private static long approximateSize(RocksDB db, ColumnFamilyHandle handle, KeyRange range,
+            List<LiveFileMetaData> files) throws RocksDBException {
+        if (range.isEmpty()) {
+            return 0;
+        }
+        byte[] lower = range.lower() == null ? new byte[0] : range.lower();
+        byte[] upper = range.upper();
+        if (upper == null) {
+            // getApproximateSizes needs a limit; just past the largest key on disk covers every file
+            byte[] largest = files.stream()
+                .map(LiveFileMetaData::largestKey)
+                .max(Arrays::compareUnsigned)
+                .orElse(lower);
+            upper = Arrays.copyOf(largest, largest.length + 1);
+        }
+        try (Slice start = new Slice(lower); Slice limit = new Slice(upper)) {
+            long[] sizes = db.getApproximateSizes(handle, List.of(new Range(start, limit)),
+                SizeApproximationFlag.INCLUDE_FILES, SizeApproximationFlag.INCLUDE_MEMTABLES);
+            return sizes[0];
+        }
+    }
+
+    private static List<LevelStats> levels(List<LiveFileMetaData> files) {
+        Map<Integer, List<LiveFileMetaData>> byLevel = new TreeMap<>();
+        for (LiveFileMetaData file : files) {
+            byLevel.computeIfAbsent(file.level(), level -> new ArrayList<>()).add(file);
+        }
+
+        List<LevelStats> levels = new ArrayList<>(byLevel.size());
+        byLevel.forEach((level, levelFiles) -> levels.add(new LevelStats(
+            level,
+            levelFiles.size(),
+            levelFiles.stream().mapToLong(LiveFileMetaData::size).sum(),
+            levelFiles.stream().mapToLong(LiveFileMetaData::numEntries).sum(),
+            levelFiles.stream().mapToLong(LiveFileMetaData::numDeletions).sum(),
+            decode(levelFiles.stream().map(LiveFileMetaData::smallestKey).min(Arrays::compareUnsigned).orElseThrow()),
+            decode(levelFiles.stream().map(LiveFileMetaData::largestKey).max(Arrays::compareUnsigned).orElseThrow()))));
+        return levels;
+    }
+
+    private static TableStats tables(Map<String, TableProperties> tables) {
+        long rawKeySize = 0;
+        long rawValueSize = 0;
+        long dataSize = 0;
+        long indexSize = 0;
+        long filterSize = 0;
+        TreeSet<String> compression = new TreeSet<>();
+        for (TableProperties table : tables.values()) {
+            rawKeySize += table.getRawKeySize();
+            rawValueSize += table.getRawValueSize();
+            dataSize += table.getDataSize();
+            indexSize += table.getIndexSize();
+            filterSize += table.getFilterSize();
+            compression.add(table.getCompressionName());
+        }
+        return new TableStats(rawKeySize, rawValueSize, dataSize, indexSize, filterSize, List.copyOf(compression));
+    }
+
+    private static String decode(byte[] key) {
+        return new String(key, StandardCharsets.UTF_8);
+    }
+}
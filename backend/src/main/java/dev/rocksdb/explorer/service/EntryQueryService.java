@@ -0,0 +1,279 @@
+package dev.rocksdb.explorer.service;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.springframework.stereotype.Service;
+
+import com.github.luben.zstd.ZstdOutputStream;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+import dev.rocksdb.explorer.decoder.ValueDecoders;
+import dev.rocksdb.explorer.model.BatchGetResult;
+import dev.rocksdb.explorer.model.ColumnFamilyInfo;
+import dev.rocksdb.explorer.model.DecodedValue;
+import dev.rocksdb.explorer.model.EntryFormat;
+import dev.rocksdb.explorer.model.EntryPage;
+import dev.rocksdb.explorer.model.EntryPreview;
+import dev.rocksdb.explorer.model.ExportCompression;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Read queries against databases held open by the {@link DatabaseSessionRegistry}.
+ */
+@Service
+@RequiredArgsConstructor
+public class EntryQueryService {
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int MAX_BATCH_SIZE = 1000;
+    private static final int COMPRESSION_BUFFER_SIZE = 64 * 1024;
+
+    private final DatabaseSessionRegistry sessionRegistry;
+    private final ExplorerProperties properties;
+    private final ValueDecoders valueDecoders;
+    private final PipelineMetrics metrics;
+
+    /**
+     * Lists the column families of a database with RocksDB's estimates of
+     * their size, which are read from metadata rather than by scanning.
+     */
+    public List<ColumnFamilyInfo> listColumnFamilies(String databaseId) throws RocksDBException {
+        try (DatabaseSession.Lease lease = sessionRegistry.acquire(databaseId)) {
+            List<ColumnFamilyInfo> columnFamilies = new ArrayList<>();
+            for (String name : lease.session().getColumnFamilyNames()) {
+                ColumnFamilyHandle handle = lease.columnFamily(name);
+                columnFamilies.add(new ColumnFamilyInfo(
+                    name,
+                    lease.db().getLongProperty(handle, "rocksdb.estimate-num-keys"),
+                    lease.db().getLongProperty(handle, "rocksdb.estimate-live-data-size")));
+            }
+            return columnFamilies;
+        }
+    }
+
+    /**
+     * Looks up a single key in a column family ({@code null} for the default
+     * one) and decodes its whole value with {@code decoder}, or with the
+     * decoder configured for the key if {@code null}. Point lookups go
+     * through the block cache, unlike bulk scans.
+     */
+    public Optional<DecodedValue> getEntry(String databaseId, String columnFamily, String key, String decoder)
+            throws RocksDBException {
+        if (decoder != null) {
+            valueDecoders.get(decoder);
+        }
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] value;
+        try (DatabaseSession.Lease lease = sessionRegistry.acquire(databaseId)) {
+            value = lease.db().get(lease.columnFamily(columnFamily), keyBytes);
+        }
+        return Optional.ofNullable(value).map(bytes -> valueDecoders.decode(keyBytes, bytes, decoder));
+    }
+
+    /**
+     * Looks up up to {@link #MAX_BATCH_SIZE} keys with a single
+     * {@code multiGet} call, which batches the memtable and SST lookups
+     * instead of paying for one native round trip per key.
+     */
+    public BatchGetResult getEntries(String databaseId, String columnFamily, List<String> keys, String decoder)
+            throws RocksDBException {
+        if (keys == null || keys.isEmpty() || keys.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("keys must hold between 1 and " + MAX_BATCH_SIZE + " keys");
+        }
+        if (decoder != null) {
+            valueDecoders.get(decoder);
+        }
+        List<byte[]> keyBytes = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            if (key == null) {
+                throw new IllegalArgumentException("keys must not contain null");
+            }
+            keyBytes.add(key.getBytes(StandardCharsets.UTF_8));
+        }
+
+        List<byte[]> values;
+        try (DatabaseSession.Lease lease = sessionRegistry.acquire(databaseId)) {
+            ColumnFamilyHandle handle = lease.columnFamily(columnFamily);
+            values = lease.db().multiGetAsList(Collections.nCopies(keys.size(), handle), keyBytes);
+        }
+
+        List<DecodedValue> entries = new ArrayList<>(keys.size());
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            byte[] value = values.get(i);
+            if (value == null) {
+                missing.add(keys.get(i));
+            } else {
+                entries.add(valueDecoders.decode(keyBytes.get(i), value, decoder));
+            }
+        }
+        return new BatchGetResult(entries, missing);
+    }
+
+    /**
+     * Returns up to {@code limit} entries of {@code range} in the given column
+     * family ({@code null} for the default one) whose keys sort
+     * strictly after {@code after}, or from the start of the range if
+     * {@code after} is {@code null}. The cost depends on the page size only:
+     * the iterator seeks straight to the cursor and stops as soon as the page
+     * is full. Only a preview of each value is read and decoded.
+     */
+    public EntryPage listEntries(String databaseId, String columnFamily, KeyRange range, String after, int limit)
+            throws RocksDBException {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (range.isEmpty()) {
+            return new EntryPage(List.of(), null);
+        }
+
+        try (DatabaseSession.Lease lease = sessionRegistry.acquire(databaseId);
+             RangeScan scan = RangeScan.open(lease.db(), lease.columnFamily(columnFamily), range)) {
+            RocksIterator iter = scan.iterator();
+            scan.seekAfter(after == null ? null : after.getBytes(StandardCharsets.UTF_8));
+
+            IteratorBuffers buffers = new IteratorBuffers();
+            int previewSize = valueDecoders.previewSize();
+            List<EntryPreview> entries = new ArrayList<>(limit);
+            for (; iter.isValid() && entries.size() < limit; iter.next()) {
+                buffers.readKey(iter);
+                int length = buffers.readValueHead(iter, previewSize);
+                entries.add(valueDecoders.preview(buffers.keyBytes(), buffers.valueHead(previewSize), length));
+            }
+            iter.status();
+
+            String nextAfter = iter.isValid() && !entries.isEmpty()
+                ? entries.get(entries.size() - 1).key()
+                : null;
+            return new EntryPage(entries, nextAfter);
+        }
+    }
+
+    /**
+     * Writes every entry of {@code range} in key order to {@code out} while
+     * the iterator moves forward. Heap use is independent of the database size.
+     * If the scan fails, the document is left incomplete and the exception
+     * propagates, so that the response is aborted rather than ended cleanly.
+     */
+    public void writeEntries(String databaseId, String columnFamily, KeyRange range, EntryFormat format,
+            OutputStream out) throws IOException {
+        writeEntries(databaseId, columnFamily, range, format, out, "dump");
+    }
+
+    private void writeEntries(String databaseId, String columnFamily, KeyRange range, EntryFormat format,
+            OutputStream out, String operation) throws IOException {
+        try (PipelineMetrics.Scan recorder = metrics.scan(operation)) {
+            try (DatabaseSession.Lease lease = sessionRegistry.acquire(databaseId);
+                 RangeScan scan = RangeScan.openBulk(lease.db(), lease.columnFamily(columnFamily), range,
+                     properties.getScan().getReadaheadSize().toBytes())) {
+                RocksIterator iter = scan.iterator();
+                // Closing the writer completes the document, so it is only closed
+                // once the scan succeeded; a failed dump must not look like a whole one
+                EntryWriter writer = EntryWriter.open(format, out);
+                if (!range.isEmpty()) {
+                    IteratorBuffers buffers = new IteratorBuffers();
+                    for (scan.seekToStart(); iter.isValid(); iter.next()) {
+                        int keyLength = buffers.readKey(iter).remaining();
+                        recorder.entry(keyLength, buffers.readValue(iter).remaining());
+                        long start = System.nanoTime();
+                        writer.write(buffers.keyString(), buffers.valueString());
+                        recorder.serialized(System.nanoTime() - start);
+                    }
+                    iter.status();
+                }
+                writer.close();
+            } catch (IOException | RocksDBException | RuntimeException e) {
+                recorder.error(e);
+                throw e;
+            }
+        } catch (RocksDBException e) {
+            throw new IOException("Failed to read database " + databaseId, e);
+        }
+    }
+
+    /**
+     * Like {@link #writeEntries}, but compressed on the fly. The compressor
+     * adds a fixed-size window to the constant memory of the scan itself.
+     * {@code out} is left open. If the scan fails, the compressed stream is
+     * not finished, so a truncated export does not decompress cleanly.
+     */
+    public void exportEntries(String databaseId, String columnFamily, KeyRange range, EntryFormat format,
+            ExportCompression compression, OutputStream out) throws IOException {
+        AbortableOutputStream target = new AbortableOutputStream(out);
+        OutputStream compressed = compress(compression, target);
+        try {
+            writeEntries(databaseId, columnFamily, range, format, compressed, "export");
+        } catch (IOException | RuntimeException e) {
+            // The compressor is still closed to release its native state, but
+            // what it writes on close, the trailer included, is discarded
+            target.abort();
+            try {
+                compressed.close();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        compressed.close();
+    }
+
+    private static OutputStream compress(ExportCompression compression, OutputStream out) throws IOException {
+        return switch (compression) {
+            case NONE -> out;
+            case GZIP -> new GZIPOutputStream(out, COMPRESSION_BUFFER_SIZE);
+            case ZSTD -> new ZstdOutputStream(out);
+        };
+    }
+
+    /**
+     * Passes writes through to a stream it leaves open, until it is aborted;
+     * from then on everything written is dropped.
+     */
+    private static final class AbortableOutputStream extends FilterOutputStream {
+        private boolean aborted;
+
+        AbortableOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        void abort() {
+            aborted = true;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!aborted) {
+                out.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (!aborted) {
+                out.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (!aborted) {
+                out.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package dev.rocksdb.explorer.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import dev.rocksdb.explorer.model.EntryFormat;
+
+/**
+ * Serializes entries one at a time as an iterator produces them, so nothing
+ * beyond the current entry and the output buffer is held in memory.
+ */
+public abstract class EntryWriter implements AutoCloseable {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    public static EntryWriter open(EntryFormat format, OutputStream out) throws IOException {
+        return switch (format) {
+            case JSON -> new JsonObjectWriter(jsonGenerator(out));
+            case NDJSON -> new NdjsonWriter(jsonGenerator(out));
+            case CSV -> new CsvWriter(out);
+        };
+    }
+
+    private static JsonGenerator jsonGenerator(OutputStream out) throws IOException {
+        JsonGenerator generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return generator;
+    }
+
+    public abstract void write(String key, String value) throws IOException;
+
+    /**
+     * Completes the document and flushes it. The underlying stream stays open.
+     */
+    @Override
+    public abstract void close() throws IOException;
+
+    private static final class JsonObjectWriter extends EntryWriter {
+        private final JsonGenerator generator;
+
+        JsonObjectWriter(JsonGenerator generator) throws IOException {
+            this.generator = generator;
+            generator.writeStartObject();
+        }
+
+        @Override
+        public void write(String key, String value) throws IOException {
+            generator.writeStringField(key, value);
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.writeEndObject();
+            generator.close();
+        }
+    }
+
+    private static final class NdjsonWriter extends EntryWriter {
+        private final JsonGenerator generator;
+
+        NdjsonWriter(JsonGenerator generator) {
+            this.generator = generator;
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(String key, String value) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("key", key);
+            generator.writeStringField("value", value);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static final class CsvWriter extends EntryWriter {
+        private final Writer writer;
+
+        CsvWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write("key,value\r\n");
+        }
+
+        @Override
+        public void write(String key, String value) throws IOException {
+            writeField(key);
+            writer.write(',');
+            writeField(value);
+            writer.write("\r\n");
+        }
+
+        /**
+         * Quotes fields holding separators, quotes or line breaks, doubling
+         * embedded quotes, as RFC 4180 requires.
+         */
+        private void writeField(String field) throws IOException {
+            boolean quote = false;
+            for (int i = 0; i < field.length() && !quote; i++) {
+                char c = field.charAt(i);
+                quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+            }
+            if (!quote) {
+                writer.write(field);
+                return;
+            }
+            writer.write('"');
+            writer.write(field.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package dev.rocksdb.explorer.service;
+
+import java.nio.file.Path;
+
+/**
+ * @param dbDirectory directory holding the RocksDB files, or {@code null} if
+ *                    the archive contained none
+ * @param digest      hex SHA-256 of the archive bytes
+ * @param size        bytes written to disk
+ */
+public record ExtractedArchive(Path dbDirectory, String digest, long size) {
+}
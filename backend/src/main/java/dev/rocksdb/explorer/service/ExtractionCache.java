@@ -0,0 +1,221 @@
+package dev.rocksdb.explorer.service;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+
+/**
+ * Extracted databases on disk, keyed by the SHA-256 of the archive they came
+ * from. Uploading the same archive again reuses the extracted files instead of
+ * unpacking it a second time.
+ *
+ * Archives are extracted into a staging directory and moved into place once
+ * complete, so an entry is never visible half-written, including to a later
+ * process that re-indexes the directory on startup. Entries in use by an open
+ * session are pinned; unused ones are deleted in LRU order when the cache
+ * grows beyond its size or entry budget.
+ */
+@Component
+public class ExtractionCache {
+    private static final Logger log = LoggerFactory.getLogger(ExtractionCache.class);
+    private static final String STAGING_PREFIX = ".staging-";
+
+    private final Path directory;
+    private final ExplorerProperties.Cache limits;
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalSize;
+
+    public ExtractionCache(ExplorerProperties properties) throws IOException {
+        this.limits = properties.getCache();
+        this.directory = limits.getDirectory().toAbsolutePath().normalize();
+        Files.createDirectories(directory);
+        index();
+    }
+
+    /**
+     * Returns the cached extraction of the archive with {@code digest}, pinned
+     * until {@link Entry#release()} is called, or {@code null} if there is none.
+     */
+    public synchronized Entry lookup(String digest) {
+        Entry entry = entries.get(digest);
+        if (entry != null) {
+            entry.references++;
+        }
+        return entry;
+    }
+
+    /**
+     * Bytes of extracted files held by the cache, including those of open
+     * databases.
+     */
+    public synchronized long totalSize() {
+        return totalSize;
+    }
+
+    public Path newStagingDirectory() throws IOException {
+        return Files.createTempDirectory(directory, STAGING_PREFIX);
+    }
+
+    /**
+     * Creates a file for an archive waiting to be extracted. Like staging
+     * directories, leftovers are deleted on the next startup.
+     */
+    public Path newStagingFile() throws IOException {
+        return Files.createTempFile(directory, STAGING_PREFIX, ".zip");
+    }
+
+    /**
+     * Moves a completed staging directory into the cache and returns the
+     * pinned entry. If the same archive was committed concurrently, the
+     * staging directory is discarded and the existing entry is returned.
+     */
+    public Entry commit(String digest, Path staging, ExtractedArchive archive) throws IOException {
+        Path target = directory.resolve(digest);
+        Path relativeDbPath = staging.relativize(archive.dbDirectory());
+        synchronized (this) {
+            Entry existing = lookup(digest);
+            if (existing != null) {
+                FileSystemUtils.deleteRecursively(staging);
+                return existing;
+            }
+            try {
+                Files.move(staging, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException | FileAlreadyExistsException e) {
+                FileSystemUtils.deleteRecursively(target);
+                Files.move(staging, target);
+            }
+            Entry entry = new Entry(digest, target, target.resolve(relativeDbPath), archive.size());
+            entry.references = 1;
+            entries.put(digest, entry);
+            totalSize += entry.size;
+            log.info("Cached extraction {} ({} bytes, {} entries)", digest, entry.size, entries.size());
+            evict();
+            return entry;
+        }
+    }
+
+    /**
+     * Deletes unpinned entries, least recently used first, until the cache is
+     * within its budgets.
+     */
+    private void evict() {
+        List<Entry> evicted = new ArrayList<>();
+        Iterator<Entry> lru = entries.values().iterator();
+        while (lru.hasNext() && (totalSize > limits.getMaxSize().toBytes() || entries.size() > limits.getMaxEntries())) {
+            Entry entry = lru.next();
+            if (entry.references == 0) {
+                lru.remove();
+                totalSize -= entry.size;
+                evicted.add(entry);
+            }
+        }
+        evicted.forEach(Entry::delete);
+    }
+
+    private synchronized void remove(Entry entry) {
+        if (entries.remove(entry.digest, entry)) {
+            totalSize -= entry.size;
+        }
+    }
+
+    private void index() throws IOException {
+        try (var children = Files.list(directory)) {
+            for (Path child : children.toList()) {
+                String name = child.getFileName().toString();
+                if (name.startsWith(STAGING_PREFIX)) {
+                    FileSystemUtils.deleteRecursively(child);
+                } else if (Files.isDirectory(child)) {
+                    try {
+                        Entry entry = new Entry(name, child, DatabaseFiles.findDatabaseDirectory(child),
+                            DatabaseFiles.sizeOf(child));
+                        entries.put(name, entry);
+                        totalSize += entry.size;
+                    } catch (RuntimeException e) {
+                        log.warn("Dropping unusable cache entry {}", child, e);
+                        FileSystemUtils.deleteRecursively(child);
+                    }
+                }
+            }
+        }
+        log.info("Extraction cache at {} holds {} entries ({} bytes)", directory, entries.size(), totalSize);
+        synchronized (this) {
+            evict();
+        }
+    }
+
+    public final class Entry {
+        private final String digest;
+        private final Path directory;
+        private final Path dbPath;
+        private final long size;
+        private int references;
+
+        private Entry(String digest, Path directory, Path dbPath, long size) {
+            this.digest = digest;
+            this.directory = directory;
+            this.dbPath = dbPath;
+            this.size = size;
+        }
+
+        public String getDigest() {
+            return digest;
+        }
+
+        public Path getDbPath() {
+            return dbPath;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * Unpins the entry so that it may be evicted.
+         */
+        public void release() {
+            synchronized (ExtractionCache.this) {
+                references--;
+                evict();
+            }
+        }
+
+        /**
+         * Unpins the entry and deletes it, for extractions that turned out
+         * not to be openable.
+         */
+        public void discard() {
+            synchronized (ExtractionCache.this) {
+                references--;
+                if (references > 0) {
+                    return;
+                }
+                remove(this);
+            }
+            delete();
+        }
+
+        private void delete() {
+            try {
+                FileSystemUtils.deleteRecursively(directory);
+            } catch (IOException e) {
+                log.warn("Failed to delete cache entry {}", directory, e);
+            }
+        }
+    }
+}
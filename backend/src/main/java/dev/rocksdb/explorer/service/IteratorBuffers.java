@@ -0,0 +1,178 @@
+package dev.rocksdb.explorer.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.ToIntFunction;
+
+import org.rocksdb.RocksIterator;
+
+/**
+ * Reusable direct buffers for reading entries off an iterator. RocksDB copies
+ * the current key and value straight into them through the
+ * {@code key(ByteBuffer)}/{@code value(ByteBuffer)} overloads, so a scan does
+ * not allocate a {@code byte[]} per entry. Bytes are decoded as UTF-8 only
+ * when a caller asks for a {@code String}.
+ *
+ * Not thread-safe; use one instance per scan.
+ */
+public final class IteratorBuffers {
+    private static final int INITIAL_KEY_CAPACITY = 256;
+    private static final int INITIAL_VALUE_CAPACITY = 4096;
+
+    private ByteBuffer key = ByteBuffer.allocateDirect(INITIAL_KEY_CAPACITY);
+    private ByteBuffer value = ByteBuffer.allocateDirect(INITIAL_VALUE_CAPACITY);
+    private byte[] scratch = new byte[INITIAL_VALUE_CAPACITY];
+    private final ByteBuffer empty = ByteBuffer.allocateDirect(0);
+
+    /**
+     * Reads the current key. The returned buffer is only valid until the
+     * next call and spans exactly the key bytes.
+     */
+    public ByteBuffer readKey(RocksIterator iter) {
+        key = read(key, iter::key);
+        return key;
+    }
+
+    /**
+     * Reads the current value. The returned buffer is only valid until the
+     * next call and spans exactly the value bytes.
+     */
+    public ByteBuffer readValue(RocksIterator iter) {
+        value = read(value, iter::value);
+        return value;
+    }
+
+    /**
+     * Copies at most the first {@code maxBytes} of the current value and
+     * returns its full length, so wide values are never copied whole. Use
+     * {@link #valueHead(int)} to get the bytes that were read.
+     */
+    public int readValueHead(RocksIterator iter, int maxBytes) {
+        if (value.capacity() < maxBytes) {
+            value = ByteBuffer.allocateDirect(maxBytes);
+        }
+        value.clear().limit(maxBytes);
+        return iter.value(value);
+    }
+
+    /**
+     * Returns at most the first {@code maxBytes} of the last value read,
+     * without copying them.
+     */
+    public ByteBuffer valueHead(int maxBytes) {
+        ByteBuffer head = value.duplicate();
+        head.limit(head.position() + Math.min(maxBytes, head.remaining()));
+        return head;
+    }
+
+    /**
+     * Returns the length of the current value without copying any of it.
+     */
+    public int valueLength(RocksIterator iter) {
+        empty.clear();
+        return iter.value(empty);
+    }
+
+    /**
+     * Returns the position of the first {@code delimiter} in the last key
+     * read, or -1.
+     */
+    public int keyIndexOf(byte delimiter) {
+        for (int i = key.position(); i < key.limit(); i++) {
+            if (key.get(i) == delimiter) {
+                return i - key.position();
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns whether the last key read starts with {@code prefix}.
+     */
+    public boolean keyStartsWith(byte[] prefix) {
+        if (key.remaining() < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (key.get(key.position() + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public String keyString() {
+        return decode(key);
+    }
+
+    public String valueString() {
+        return decode(value);
+    }
+
+    public byte[] keyBytes() {
+        byte[] bytes = new byte[key.remaining()];
+        key.get(key.position(), bytes);
+        return bytes;
+    }
+
+    /**
+     * Returns whether the last value read contains {@code needle}, without
+     * decoding it.
+     */
+    public boolean valueContains(byte[] needle) {
+        return indexOf(value, needle) >= 0;
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the last value read, for noticing changed values
+     * without keeping them.
+     */
+    public long valueHash() {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = value.position(); i < value.limit(); i++) {
+            hash ^= value.get(i) & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    static int indexOf(ByteBuffer haystack, byte[] needle) {
+        int start = haystack.position();
+        int last = haystack.limit() - needle.length;
+        if (needle.length == 0) {
+            return start;
+        }
+        outer:
+        for (int i = start; i <= last; i++) {
+            if (haystack.get(i) != needle[0]) {
+                continue;
+            }
+            for (int j = 1; j < needle.length; j++) {
+                if (haystack.get(i + j) != needle[j]) {
+                    continue outer;
+                }
+            }
+            return i - start;
+        }
+        return -1;
+    }
+
+    private static ByteBuffer read(ByteBuffer buffer, ToIntFunction<ByteBuffer> reader) {
+        buffer.clear();
+        int length = reader.applyAsInt(buffer);
+        if (length > buffer.capacity()) {
+            buffer = ByteBuffer.allocateDirect(Integer.highestOneBit(length - 1) << 1);
+            reader.applyAsInt(buffer);
+        }
+        return buffer;
+    }
+
+    private String decode(ByteBuffer buffer) {
+        int length = buffer.remaining();
+        if (length > scratch.length) {
+            scratch = new byte[Integer.highestOneBit(length - 1) << 1];
+        }
+        buffer.get(buffer.position(), scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,279 @@
+package dev.rocksdb.explorer.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+
+import dev.rocksdb.explorer.model.JsonPredicate;
+
+/**
+ * A compiled query over JSON object values: predicates on fields that must
+ * all hold, and fields to return from the documents that match.
+ *
+ * Documents are read with a streaming parser. Fields that neither a
+ * predicate nor the projection refers to are skipped without being
+ * materialized, and a document is abandoned at the first predicate that
+ * fails, or as soon as every predicate has held and every projected field
+ * was read. Only the values of the fields involved are turned into trees.
+ *
+ * Field paths are member names joined by dots, such as {@code metrics.cpu};
+ * array elements cannot be addressed, but {@code contains} tests whether an
+ * array holds a value. A field that is missing fails every predicate.
+ *
+ * Immutable and thread-safe; {@link #evaluate} may be called from several
+ * shards at once.
+ */
+final class JsonQuery {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    /** Predicates are tracked in a bit mask per document. */
+    static final int MAX_PREDICATES = 64;
+    static final int MAX_FIELDS = 64;
+
+    enum Operator {
+        EQ, NE, GT, GTE, LT, LTE, CONTAINS, EXISTS;
+
+        static Operator parse(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new IllegalArgumentException("Unknown operator: " + name + "; use one of eq, ne, gt, gte, "
+                    + "lt, lte, contains, exists");
+            }
+        }
+    }
+
+    private record Predicate(Operator operator, JsonNode operand) {
+        boolean test(JsonNode value) {
+            return switch (operator) {
+                case EXISTS -> true;
+                case EQ -> equal(value, operand);
+                case NE -> !equal(value, operand);
+                case GT, GTE, LT, LTE -> inOrder(compare(value, operand));
+                case CONTAINS -> contains(value, operand);
+            };
+        }
+
+        private boolean inOrder(Integer order) {
+            if (order == null) {
+                return false;
+            }
+            return switch (operator) {
+                case GT -> order > 0;
+                case GTE -> order >= 0;
+                case LT -> order < 0;
+                default -> order <= 0;
+            };
+        }
+
+        private static boolean equal(JsonNode value, JsonNode operand) {
+            if (value.isNumber() && operand.isNumber()) {
+                return compareNumbers(value, operand) == 0;
+            }
+            return value.equals(operand);
+        }
+
+        /**
+         * Orders numbers by value and strings lexicographically. Any other
+         * pair is unordered ({@code null}), which fails every comparison.
+         */
+        private static Integer compare(JsonNode value, JsonNode operand) {
+            if (value.isNumber() && operand.isNumber()) {
+                return compareNumbers(value, operand);
+            }
+            if (value.isTextual() && operand.isTextual()) {
+                return value.textValue().compareTo(operand.textValue());
+            }
+            return null;
+        }
+
+        private static int compareNumbers(JsonNode value, JsonNode operand) {
+            if (value.canConvertToExactIntegral() && operand.canConvertToExactIntegral()
+                    && value.canConvertToLong() && operand.canConvertToLong()) {
+                return Long.compare(value.longValue(), operand.longValue());
+            }
+            return Double.compare(value.doubleValue(), operand.doubleValue());
+        }
+
+        private static boolean contains(JsonNode value, JsonNode operand) {
+            if (value.isTextual() && operand.isTextual()) {
+                return value.textValue().contains(operand.textValue());
+            }
+            if (value.isArray()) {
+                for (JsonNode element : value) {
+                    if (equal(element, operand)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    /** One member name along the paths the query refers to. */
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private final List<Integer> predicates = new ArrayList<>();
+        private int field = -1;
+
+        boolean isReferenced() {
+            return field >= 0 || !predicates.isEmpty();
+        }
+    }
+
+    private final Node root = new Node();
+    private final List<Predicate> predicates = new ArrayList<>();
+    private final List<String> fields;
+    private final long allPredicates;
+
+    /**
+     * @param where  predicates that must all hold
+     * @param select paths of the fields to return, in this order
+     */
+    JsonQuery(List<JsonPredicate> where, List<String> select) {
+        List<JsonPredicate> conditions = where == null ? List.of() : where;
+        if (select != null && select.contains(null)) {
+            throw new IllegalArgumentException("select must not contain null");
+        }
+        this.fields = select == null ? List.of() : List.copyOf(new LinkedHashSet<>(select));
+        if (conditions.isEmpty() && fields.isEmpty()) {
+            throw new IllegalArgumentException("Specify at least one of where and select");
+        }
+        if (conditions.size() > MAX_PREDICATES) {
+            throw new IllegalArgumentException("At most " + MAX_PREDICATES + " predicates are supported");
+        }
+        if (fields.size() > MAX_FIELDS) {
+            throw new IllegalArgumentException("At most " + MAX_FIELDS + " fields can be selected");
+        }
+
+        for (JsonPredicate condition : conditions) {
+            if (condition == null) {
+                throw new IllegalArgumentException("where must not contain null");
+            }
+            Operator operator = Operator.parse(condition.op());
+            JsonNode operand = condition.value() == null ? NullNode.getInstance() : condition.value();
+            if (operator != Operator.EXISTS && operand.isContainerNode()) {
+                throw new IllegalArgumentException("Predicate on " + condition.field()
+                    + " must compare with a string, number, boolean or null");
+            }
+            node(condition.field()).predicates.add(predicates.size());
+            predicates.add(new Predicate(operator, operand));
+        }
+        for (int i = 0; i < fields.size(); i++) {
+            node(fields.get(i)).field = i;
+        }
+        this.allPredicates = predicates.size() == MAX_PREDICATES ? -1L : (1L << predicates.size()) - 1;
+    }
+
+    List<String> fields() {
+        return fields;
+    }
+
+    /**
+     * Returns the selected fields of the document in {@code value}, in the
+     * order they were selected and {@code null} where missing, or
+     * {@code null} if it does not match. Values that are not a JSON object
+     * never match.
+     */
+    JsonNode[] evaluate(byte[] value, int length) throws IOException {
+        Evaluation evaluation = new Evaluation();
+        try (JsonParser parser = MAPPER.createParser(value, 0, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            walk(parser, root, evaluation);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+        return evaluation.failed || evaluation.satisfied != allPredicates ? null : evaluation.values;
+    }
+
+    /**
+     * Reads the members of the object the parser is in, stopping early once
+     * the outcome is decided.
+     */
+    private void walk(JsonParser parser, Node node, Evaluation evaluation) throws IOException {
+        for (JsonToken token = parser.nextToken(); token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            Node child = node.children.get(parser.currentName());
+            JsonToken value = parser.nextToken();
+            if (child == null) {
+                parser.skipChildren();
+                continue;
+            }
+            if (child.isReferenced()) {
+                apply(child, parser.readValueAsTree(), evaluation);
+            } else if (value == JsonToken.START_OBJECT) {
+                walk(parser, child, evaluation);
+            } else {
+                // Only members of objects can be referenced below this one
+                parser.skipChildren();
+            }
+            if (evaluation.isDecided()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Applies the predicates and projection of {@code node} and everything
+     * below it to an already materialized value, which is {@code null} if
+     * the field is missing.
+     */
+    private void apply(Node node, JsonNode value, Evaluation evaluation) {
+        if (value == null || value.isMissingNode()) {
+            return;
+        }
+        for (int index : node.predicates) {
+            if (!predicates.get(index).test(value)) {
+                evaluation.failed = true;
+                return;
+            }
+            evaluation.satisfied |= 1L << index;
+        }
+        if (node.field >= 0) {
+            evaluation.values[node.field] = value;
+            evaluation.found++;
+        }
+        for (Map.Entry<String, Node> child : node.children.entrySet()) {
+            apply(child.getValue(), value.isObject() ? value.get(child.getKey()) : null, evaluation);
+            if (evaluation.failed) {
+                return;
+            }
+        }
+    }
+
+    private final class Evaluation {
+        private final JsonNode[] values = new JsonNode[fields.size()];
+        private long satisfied;
+        private int found;
+        private boolean failed;
+
+        boolean isDecided() {
+            return failed || (satisfied == allPredicates && found == fields.size());
+        }
+    }
+
+    private Node node(String path) {
+        if (path == null || path.isEmpty()) {
+            throw new IllegalArgumentException("Field paths must not be empty");
+        }
+        Node node = root;
+        for (String name : path.split("\\.", -1)) {
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Invalid field path: " + path);
+            }
+            node = node.children.computeIfAbsent(name, n -> new Node());
+        }
+        return node;
+    }
+}
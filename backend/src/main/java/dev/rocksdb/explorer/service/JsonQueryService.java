@@ -0,0 +1,134 @@
+package dev.rocksdb.explorer.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+import dev.rocksdb.explorer.model.JsonMatch;
+import dev.rocksdb.explorer.model.JsonQueryRequest;
+import dev.rocksdb.explorer.model.JsonQueryResult;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Filters and projects JSON values on the server. The key range is scanned
+ * in shards like a value search, and each value is parsed by a
+ * {@link JsonQuery} from an array that is reused for the whole shard, so
+ * memory use does not depend on the number of documents that are read.
+ */
+@Service
+@RequiredArgsConstructor
+public class JsonQueryService {
+    private static final Logger log = LoggerFactory.getLogger(JsonQueryService.class);
+    public static final int MAX_MATCHES = 1000;
+    private static final int DEFAULT_LIMIT = 100;
+
+    private final DatabaseSessionRegistry sessionRegistry;
+    private final ExecutorService scanExecutor;
+    private final ExplorerProperties properties;
+    private final PipelineMetrics metrics;
+
+    /**
+     * Returns the first {@code limit} entries of the requested range in the
+     * given column family ({@code null} for the default one), in key order,
+     * whose value is a JSON object that satisfies every predicate, with the
+     * selected fields of each. Values that are not JSON objects are skipped.
+     */
+    public JsonQueryResult query(String databaseId, String columnFamily, JsonQueryRequest request)
+            throws RocksDBException {
+        int limit = request.limit() == null ? DEFAULT_LIMIT : request.limit();
+        if (limit < 1 || limit > MAX_MATCHES) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_MATCHES);
+        }
+        JsonQuery query = new JsonQuery(request.where(), request.select());
+        KeyRange range = KeyRange.of(request.prefix(), request.from(), request.to());
+        if (request.after() != null) {
+            // The smallest key after the cursor is the cursor with a zero byte appended
+            byte[] after = request.after().getBytes(StandardCharsets.UTF_8);
+            range = range.intersect(Arrays.copyOf(after, after.length + 1), null);
+        }
+        if (range.isEmpty()) {
+            return new JsonQueryResult(List.of(), null, 0);
+        }
+
+        try (PipelineMetrics.Scan recorder = metrics.scan("query")) {
+            try (DatabaseSession.Lease lease = sessionRegistry.acquire(databaseId)) {
+                ShardedScan.Result<JsonMatch> result = ShardedScan.run(lease.db(), lease.columnFamily(columnFamily),
+                    range, limit, scanExecutor, properties.getScan(), recorder, () -> new DocumentMatcher(query));
+                log.debug("Queried {} shards of database {}", result.shards(), databaseId);
+                String nextAfter = result.more() ? result.matches().get(limit - 1).key() : null;
+                return new JsonQueryResult(result.matches(), nextAfter, result.shards());
+            } catch (RocksDBException | RuntimeException e) {
+                recorder.error(e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Evaluates the query on the values of one shard. The parser reads
+     * fastest from an array, so each value is copied into one that is reused
+     * for the whole shard.
+     */
+    private static final class DocumentMatcher implements ShardedScan.Matcher<JsonMatch> {
+        private final JsonQuery query;
+        private byte[] document = new byte[4096];
+
+        DocumentMatcher(JsonQuery query) {
+            this.query = query;
+        }
+
+        @Override
+        public JsonMatch match(RocksIterator iter, IteratorBuffers buffers, ByteBuffer value) throws IOException {
+            if (!startsObject(value)) {
+                return null;
+            }
+            int length = value.remaining();
+            if (document.length < length) {
+                document = new byte[Math.max(length, document.length * 2)];
+            }
+            value.get(value.position(), document, 0, length);
+            JsonNode[] fields = query.evaluate(document, length);
+            if (fields == null) {
+                return null;
+            }
+            buffers.readKey(iter);
+            return new JsonMatch(buffers.keyString(), project(query.fields(), fields));
+        }
+
+        /**
+         * Whether the value can be a JSON object at all, so that others are
+         * skipped without starting a parser.
+         */
+        private static boolean startsObject(ByteBuffer value) {
+            for (int i = value.position(); i < value.limit(); i++) {
+                byte b = value.get(i);
+                if (b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+                    return b == '{';
+                }
+            }
+            return false;
+        }
+
+        private static Map<String, JsonNode> project(List<String> names, JsonNode[] values) {
+            Map<String, JsonNode> fields = new LinkedHashMap<>();
+            for (int i = 0; i < names.size(); i++) {
+                fields.put(names.get(i), values[i]);
+            }
+            return fields;
+        }
+    }
+}
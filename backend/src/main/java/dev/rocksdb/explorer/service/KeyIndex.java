@@ -0,0 +1,372 @@
+package dev.rocksdb.explorer.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.Cache;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.FileSystemUtils;
+
+import dev.rocksdb.explorer.model.KeyIndexInfo;
+import dev.rocksdb.explorer.model.KeyIndexInfo.State;
+
+/**
+ * A trigram index over the keys of one column family, kept in a sidecar
+ * RocksDB so that it takes neither heap nor the memory of the database it
+ * indexes.
+ *
+ * Every key is stored once per 3-byte substring, as the posting
+ * {@code <trigram><key>}. The postings of a trigram are therefore one
+ * contiguous, key-ordered range, and the keys containing a substring are
+ * found by intersecting the ranges of its trigrams with seeks instead of
+ * reading them whole. The index is a snapshot of the keys at the time it was
+ * built.
+ *
+ * Building, compacting and searching hold the read lock; {@link #close()}
+ * takes the write lock, so the sidecar database is never closed underneath
+ * any of them.
+ */
+final class KeyIndex {
+    private static final Logger log = LoggerFactory.getLogger(KeyIndex.class);
+    static final int GRAM = 3;
+    /** Trigrams of a query that are intersected; matches are verified against the whole query anyway. */
+    private static final int MAX_QUERY_GRAMS = 16;
+
+    private final String databaseId;
+    private final String columnFamily;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Instant startedAt = Instant.now();
+
+    private volatile State state = State.BUILDING;
+    private volatile long keysIndexed;
+    private volatile long postings;
+    /** Size of the postings written so far, which bounds the size of the sidecar on disk. */
+    private volatile long postingBytes;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    private volatile boolean cancelled;
+    private boolean closed;
+    // Set by open(), so that an index waiting to be built holds no native resources
+    private Path directory;
+    private Options options;
+    private RocksDB db;
+
+    KeyIndex(String databaseId, String columnFamily) {
+        this.databaseId = databaseId;
+        this.columnFamily = columnFamily;
+    }
+
+    /**
+     * Creates the empty sidecar database in a new directory under
+     * {@code parent}. Its blocks are cached in the block cache shared with
+     * the open databases. Returns {@code false} if the index was closed
+     * before its build started.
+     */
+    boolean open(Path parent, Cache blockCache) throws IOException, RocksDBException {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return false;
+            }
+            directory = Files.createTempDirectory(parent, "index-");
+            // Postings arrive in key order of the indexed database, not their own, so
+            // compaction is deferred until all of them are written
+            options = new Options()
+                .setCreateIfMissing(true)
+                .setTableFormatConfig(new BlockBasedTableConfig().setBlockCache(blockCache))
+                .prepareForBulkLoad();
+            try {
+                db = RocksDB.open(options, directory.toString());
+            } catch (RocksDBException e) {
+                options.close();
+                options = null;
+                throw e;
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    String databaseId() {
+        return databaseId;
+    }
+
+    String columnFamily() {
+        return columnFamily;
+    }
+
+    State state() {
+        return state;
+    }
+
+    /**
+     * Bytes of postings in the sidecar database, uncompressed; zero once it
+     * is closed.
+     */
+    long diskUsage() {
+        return postingBytes;
+    }
+
+    KeyIndexInfo info() {
+        return new KeyIndexInfo(databaseId, columnFamily, state, keysIndexed, postings, startedAt, finishedAt,
+            error);
+    }
+
+    /**
+     * Writes the postings of every key of {@code source} in one streaming
+     * pass. The index is ready once it has been {@link #compact() compacted},
+     * which no longer needs the source.
+     *
+     * @param fits whether that many more bytes of postings may be written;
+     *             the build fails once a batch does not fit
+     */
+    void build(RocksDB source, ColumnFamilyHandle sourceColumnFamily, long readaheadSize, long writeBatchSize,
+            PipelineMetrics.Scan recorder, LongPredicate fits) throws RocksDBException {
+        long keys = 0;
+        long keyBytes = 0;
+        lock.readLock().lock();
+        try (RangeScan scan = RangeScan.openBulk(source, sourceColumnFamily, KeyRange.ALL, readaheadSize);
+             WriteOptions writeOptions = new WriteOptions().setDisableWAL(true);
+             WriteBatch batch = new WriteBatch()) {
+            if (closed) {
+                return;
+            }
+            RocksIterator iter = scan.iterator();
+            IteratorBuffers buffers = new IteratorBuffers();
+            ByteBuffer posting = ByteBuffer.allocateDirect(256);
+            ByteBuffer empty = ByteBuffer.allocateDirect(0);
+            long written = 0;
+            for (scan.seekToStart(); iter.isValid() && !cancelled; iter.next()) {
+                ByteBuffer key = buffers.readKey(iter);
+                int length = key.remaining();
+                if (posting.capacity() < GRAM + length) {
+                    posting = ByteBuffer.allocateDirect(GRAM + length);
+                }
+                for (int i = 0; i + GRAM <= length; i++) {
+                    posting.clear();
+                    posting.put(0, key, key.position() + i, GRAM);
+                    posting.put(GRAM, key, key.position(), length);
+                    posting.limit(GRAM + length);
+                    empty.clear();
+                    batch.put(posting, empty);
+                    written++;
+                }
+                keyBytes += length;
+                keys++;
+                if (batch.getDataSize() >= writeBatchSize) {
+                    write(writeOptions, batch, fits);
+                    keysIndexed = keys;
+                    postings = written;
+                }
+            }
+            iter.status();
+            write(writeOptions, batch, fits);
+            keysIndexed = keys;
+            postings = written;
+        } finally {
+            lock.readLock().unlock();
+            // Only keys are read
+            recorder.add(keys, keyBytes);
+        }
+    }
+
+    private void write(WriteOptions writeOptions, WriteBatch batch, LongPredicate fits) throws RocksDBException {
+        long size = batch.getDataSize();
+        if (!fits.test(size)) {
+            throw new IllegalStateException("Key indexes would exceed explorer.key-index.max-disk-usage");
+        }
+        db.write(writeOptions, batch);
+        postingBytes += size;
+        batch.clear();
+    }
+
+    /**
+     * Compacts the sidecar database after {@link #build}, so that each
+     * trigram's postings can be read sequentially, and marks the index ready.
+     */
+    void compact() throws RocksDBException {
+        lock.readLock().lock();
+        try {
+            if (closed || cancelled) {
+                return;
+            }
+            db.compactRange();
+            finishedAt = Instant.now();
+            state = State.READY;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void failed(String error) {
+        this.error = error;
+        finishedAt = Instant.now();
+        state = State.FAILED;
+    }
+
+    /**
+     * Returns up to {@code limit} indexed keys that contain {@code query},
+     * in key order and strictly after {@code after} if it is given.
+     *
+     * The postings of each trigram of the query are walked in a leapfrog
+     * join: each range seeks to the largest key seen so far, and a key is a
+     * candidate once every range lands on it. Candidates still have to be
+     * checked against the whole query, because their trigrams may occur in
+     * other places than the query's.
+     */
+    List<byte[]> search(byte[] query, byte[] after, int limit) throws RocksDBException {
+        lock.readLock().lock();
+        List<Postings> lists = new ArrayList<>();
+        try {
+            // A failed index is closed, but still reports why
+            if (state == State.FAILED) {
+                throw new KeyIndexNotReadyException("Building the key index failed: " + error);
+            }
+            if (closed) {
+                throw new KeyIndexNotFoundException(databaseId, columnFamily);
+            }
+            if (state != State.READY) {
+                throw new KeyIndexNotReadyException(
+                    "The key index is still being built (" + keysIndexed + " keys so far)");
+            }
+            for (byte[] gram : grams(query)) {
+                lists.add(new Postings(db, gram));
+            }
+
+            List<byte[]> matches = new ArrayList<>(limit);
+            // The smallest key after the cursor is the cursor with a zero byte appended
+            byte[] target = after == null ? new byte[0] : Arrays.copyOf(after, after.length + 1);
+            int agreed = 0;
+            for (int i = 0; matches.size() < limit; i = (i + 1) % lists.size()) {
+                Postings list = lists.get(i);
+                if (!list.seek(target)) {
+                    break;
+                }
+                if (Arrays.equals(list.key, target)) {
+                    agreed++;
+                } else {
+                    target = list.key;
+                    agreed = 1;
+                }
+                if (agreed == lists.size()) {
+                    if (IteratorBuffers.indexOf(ByteBuffer.wrap(target), query) >= 0) {
+                        matches.add(target);
+                    }
+                    target = Arrays.copyOf(target, target.length + 1);
+                    agreed = 0;
+                }
+            }
+            return matches;
+        } finally {
+            lists.forEach(Postings::close);
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stops a running build and deletes the sidecar database once no search
+     * is using it any more. A build that is already compacting the sidecar
+     * cannot be stopped, so this may block until the compaction is done.
+     */
+    void close() {
+        cancelled = true;
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            postingBytes = 0;
+            if (db != null) {
+                db.close();
+                options.close();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (directory == null) {
+            return;
+        }
+        try {
+            FileSystemUtils.deleteRecursively(directory);
+        } catch (IOException e) {
+            log.warn("Failed to delete key index {}", directory, e);
+        }
+    }
+
+    /**
+     * The distinct trigrams of {@code query}, at most {@link #MAX_QUERY_GRAMS}
+     * of them spread over its length.
+     */
+    private static List<byte[]> grams(byte[] query) {
+        int count = query.length - GRAM + 1;
+        int step = Math.max(1, (count + MAX_QUERY_GRAMS - 1) / MAX_QUERY_GRAMS);
+        List<byte[]> grams = new ArrayList<>();
+        for (int i = 0; i < count; i += step) {
+            byte[] gram = Arrays.copyOfRange(query, i, i + GRAM);
+            if (grams.stream().noneMatch(g -> Arrays.equals(g, gram))) {
+                grams.add(gram);
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * The postings of one trigram, positioned at a key.
+     */
+    private static final class Postings implements AutoCloseable {
+        private final byte[] gram;
+        private final RangeScan scan;
+        /** The key the postings are positioned at, without the trigram. */
+        private byte[] key;
+
+        Postings(RocksDB db, byte[] gram) {
+            this.gram = gram;
+            this.scan = RangeScan.open(db, db.getDefaultColumnFamily(), KeyRange.prefix(gram));
+        }
+
+        /**
+         * Moves to the first key at or after {@code target}, unless already
+         * there. Returns {@code false} once no such key is left.
+         */
+        boolean seek(byte[] target) throws RocksDBException {
+            if (key != null && Arrays.compareUnsigned(key, target) >= 0) {
+                return true;
+            }
+            byte[] seekKey = Arrays.copyOf(gram, GRAM + target.length);
+            System.arraycopy(target, 0, seekKey, GRAM, target.length);
+            RocksIterator iter = scan.iterator();
+            iter.seek(seekKey);
+            if (!iter.isValid()) {
+                iter.status();
+                return false;
+            }
+            byte[] posting = iter.key();
+            key = Arrays.copyOfRange(posting, GRAM, posting.length);
+            return true;
+        }
+
+        @Override
+        public void close() {
+            scan.close();
+        }
+    }
+}
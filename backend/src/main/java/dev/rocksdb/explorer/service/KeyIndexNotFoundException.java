@@ -0,0 +1,9 @@
+package dev.rocksdb.explorer.service;
+
+public class KeyIndexNotFoundException extends RuntimeException {
+
+    public KeyIndexNotFoundException(String databaseId, String columnFamily) {
+        super("No key index for " + (columnFamily == null ? "the default column family" : "column family " + columnFamily)
+            + " of database " + databaseId);
+    }
+}
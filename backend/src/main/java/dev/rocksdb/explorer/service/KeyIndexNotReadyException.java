@@ -0,0 +1,12 @@
+package dev.rocksdb.explorer.service;
+
+/**
+ * The key index exists but cannot answer queries, because it is still being
+ * built or building it failed.
+ */
+public class KeyIndexNotReadyException extends RuntimeException {
+
+    public KeyIndexNotReadyException(String message) {
+        super(message);
+    }
+}
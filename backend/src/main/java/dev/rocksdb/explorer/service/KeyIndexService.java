@@ -0,0 +1,268 @@
+package dev.rocksdb.explorer.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.rocksdb.Cache;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+import dev.rocksdb.explorer.decoder.ValueDecoders;
+import dev.rocksdb.explorer.model.EntryPage;
+import dev.rocksdb.explorer.model.EntryPreview;
+import dev.rocksdb.explorer.model.KeyIndexInfo;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Optional secondary indexes for finding keys by a substring anywhere in
+ * them, which a scan in key order can only answer by reading every key.
+ *
+ * An index is built per column family on request, in one background pass
+ * over its keys, and kept in a sidecar database until the database it
+ * indexes is closed. Keys written to a secondary after the index was built
+ * are not found until it is rebuilt.
+ *
+ * Sidecars are only created once their build starts, and only
+ * {@code explorer.key-index.max-queued-builds} builds may wait for one of
+ * the {@code max-concurrent-builds} threads. Every key is stored once per
+ * trigram, so an index can take many times the size of the keys; builds
+ * fail once all sidecars together would exceed
+ * {@code explorer.key-index.max-disk-usage}.
+ */
+@Service
+public class KeyIndexService {
+    private static final Logger log = LoggerFactory.getLogger(KeyIndexService.class);
+
+    private final DatabaseSessionRegistry sessionRegistry;
+    private final ValueDecoders valueDecoders;
+    private final ExplorerProperties properties;
+    private final Cache blockCache;
+    private final PipelineMetrics metrics;
+    private final AdmissionControl admissionControl;
+    private final Path directory;
+    private final Map<IndexId, KeyIndex> indexes = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor executor;
+    /** Closes dropped indexes, which waits for their build to stop. */
+    private final ExecutorService closer = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("key-index-close-", 1).factory());
+
+    public KeyIndexService(DatabaseSessionRegistry sessionRegistry, ValueDecoders valueDecoders,
+            ExplorerProperties properties, Cache blockCache, PipelineMetrics metrics,
+            AdmissionControl admissionControl) throws IOException {
+        this.sessionRegistry = sessionRegistry;
+        this.valueDecoders = valueDecoders;
+        this.properties = properties;
+        this.blockCache = blockCache;
+        this.metrics = metrics;
+        this.admissionControl = admissionControl;
+        this.directory = properties.getKeyIndex().getDirectory().toAbsolutePath().normalize();
+        Files.createDirectories(directory);
+        // Indexes do not outlive the process; whatever is left belongs to one that crashed
+        try (DirectoryStream<Path> stale = Files.newDirectoryStream(directory, "index-*")) {
+            for (Path path : stale) {
+                FileSystemUtils.deleteRecursively(path);
+            }
+        }
+        int maxBuilds = properties.getKeyIndex().getMaxConcurrentBuilds();
+        this.executor = new ThreadPoolExecutor(maxBuilds, maxBuilds, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(properties.getKeyIndex().getMaxQueuedBuilds()),
+            Thread.ofVirtual().name("key-index-", 1).factory());
+        sessionRegistry.onClose(this::dropAll);
+    }
+
+    /**
+     * Starts building the key index of a column family ({@code null} for
+     * the default one). An index that is already built or being built is
+     * returned as is; one whose build failed is built again.
+     *
+     * @throws AdmissionRejectedException if too many builds are waiting
+     */
+    public synchronized KeyIndexInfo build(String databaseId, String columnFamily) {
+        try (DatabaseSession.Lease lease = sessionRegistry.acquire(databaseId)) {
+            lease.columnFamily(columnFamily);
+        }
+        IndexId id = new IndexId(databaseId, columnFamily);
+        KeyIndex existing = indexes.get(id);
+        if (existing != null) {
+            if (existing.state() != KeyIndexInfo.State.FAILED) {
+                return existing.info();
+            }
+            drop(databaseId, columnFamily);
+        }
+
+        KeyIndex index = new KeyIndex(databaseId, columnFamily);
+        indexes.put(id, index);
+        // The database may have been closed since it was looked up, after its close
+        // listener dropped the indexes it found; then this one would never be dropped
+        try {
+            sessionRegistry.get(databaseId);
+        } catch (DatabaseNotFoundException e) {
+            drop(databaseId, columnFamily);
+            throw e;
+        }
+        try {
+            executor.execute(() -> run(index));
+        } catch (RejectedExecutionException e) {
+            drop(databaseId, columnFamily);
+            throw new AdmissionRejectedException("Too many key index builds waiting; try again later");
+        }
+        log.info("Queued key index of database {} ({})", databaseId, columnFamily == null ? "default" : columnFamily);
+        return index.info();
+    }
+
+    public KeyIndexInfo info(String databaseId, String columnFamily) {
+        return index(databaseId, columnFamily).info();
+    }
+
+    /**
+     * Returns up to {@code limit} entries of a column family whose keys
+     * contain {@code query}, in key order and strictly after {@code after}
+     * if it is given. Only the index and the matching entries are read, so
+     * the cost depends on how common the query's trigrams are rather than
+     * on the size of the database.
+     *
+     * @throws KeyIndexNotFoundException if no index was built
+     * @throws KeyIndexNotReadyException if the index is still being built
+     */
+    public EntryPage search(String databaseId, String columnFamily, String query, String after, int limit)
+            throws RocksDBException {
+        if (limit < 1 || limit > EntryQueryService.MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + EntryQueryService.MAX_PAGE_SIZE);
+        }
+        byte[] needle = query == null ? new byte[0] : query.getBytes(StandardCharsets.UTF_8);
+        if (needle.length < KeyIndex.GRAM) {
+            throw new IllegalArgumentException("query must be at least " + KeyIndex.GRAM + " bytes long");
+        }
+        KeyIndex index = index(databaseId, columnFamily);
+
+        // One extra match tells whether there is another page
+        List<byte[]> keys = index.search(needle, after == null ? null : after.getBytes(StandardCharsets.UTF_8),
+            limit + 1);
+        String nextAfter = keys.size() > limit
+            ? new String(keys.get(limit - 1), StandardCharsets.UTF_8)
+            : null;
+
+        List<EntryPreview> entries = new ArrayList<>(limit);
+        try (DatabaseSession.Lease lease = sessionRegistry.acquire(databaseId);
+             ReadOptions readOptions = new ReadOptions()) {
+            ColumnFamilyHandle handle = lease.columnFamily(columnFamily);
+            byte[] head = new byte[valueDecoders.previewSize()];
+            for (byte[] key : keys.subList(0, Math.min(limit, keys.size()))) {
+                // Copies at most the preview, but returns the full length of the value
+                int length = lease.db().get(handle, readOptions, key, head);
+                if (length == RocksDB.NOT_FOUND) {
+                    // Deleted from a secondary since the index was built
+                    continue;
+                }
+                entries.add(valueDecoders.preview(key, ByteBuffer.wrap(head, 0, Math.min(length, head.length)),
+                    length));
+            }
+        }
+        return new EntryPage(entries, nextAfter);
+    }
+
+    /**
+     * Deletes the key index of a column family; a running build is stopped.
+     * The index is gone once this returns, but its sidecar database is
+     * closed and deleted in the background: a build cannot be interrupted
+     * while it compacts the sidecar, and neither a request nor the closing
+     * of a database should wait for that.
+     */
+    public boolean drop(String databaseId, String columnFamily) {
+        KeyIndex index = indexes.remove(new IndexId(databaseId, columnFamily));
+        if (index == null) {
+            return false;
+        }
+        try {
+            closer.execute(index::close);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            index.close();
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        executor.shutdownNow();
+        indexes.keySet().forEach(id -> drop(id.databaseId(), id.columnFamily()));
+        // Waits for the sidecars to be deleted
+        closer.close();
+    }
+
+    private void dropAll(String databaseId) {
+        indexes.keySet().stream()
+            .filter(id -> id.databaseId().equals(databaseId))
+            .forEach(id -> drop(id.databaseId(), id.columnFamily()));
+    }
+
+    private KeyIndex index(String databaseId, String columnFamily) {
+        KeyIndex index = indexes.get(new IndexId(databaseId, columnFamily));
+        if (index == null) {
+            throw new KeyIndexNotFoundException(databaseId, columnFamily);
+        }
+        return index;
+    }
+
+    private void run(KeyIndex index) {
+        try (PipelineMetrics.Scan recorder = metrics.scan("key-index")) {
+            // A build is a full scan of the column family, so it waits for a scan slot like requests take one
+            try (AdmissionControl.Permit permit = admissionControl.await(AdmissionControl.Resource.SCAN)) {
+                // Only now is the sidecar created, so that waiting builds hold no native resources
+                if (!index.open(directory, blockCache)) {
+                    // Dropped while it waited
+                    return;
+                }
+                try (DatabaseSession.Lease lease = sessionRegistry.acquire(index.databaseId())) {
+                    index.build(lease.db(), lease.columnFamily(index.columnFamily()),
+                        properties.getScan().getReadaheadSize().toBytes(),
+                        properties.getKeyIndex().getWriteBatchSize().toBytes(), recorder,
+                        bytes -> diskUsage() + bytes <= properties.getKeyIndex().getMaxDiskUsage().toBytes());
+                }
+            } catch (Exception e) {
+                recorder.error(e);
+                throw e;
+            }
+            // Compacting only touches the sidecar, so the database may be closed meanwhile
+            index.compact();
+            KeyIndexInfo info = index.info();
+            if (info.state() == KeyIndexInfo.State.READY) {
+                log.info("Built key index of database {}: {} keys, {} postings", info.databaseId(),
+                    info.keysIndexed(), info.postings());
+            }
+        } catch (Exception e) {
+            log.warn("Building key index of database {} failed", index.databaseId(), e);
+            index.failed(e.getMessage());
+            // Whatever was written is of no use, but the failure can still be looked up
+            index.close();
+        }
+    }
+
+    private long diskUsage() {
+        return indexes.values().stream().mapToLong(KeyIndex::diskUsage).sum();
+    }
+
+    private record IndexId(String databaseId, String columnFamily) {
+    }
+}
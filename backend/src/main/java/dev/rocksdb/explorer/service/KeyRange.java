@@ -0,0 +1,72 @@
+package dev.rocksdb.explorer.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A half-open range of keys {@code [lower, upper)} in RocksDB's bytewise
+ * order. A {@code null} bound leaves that side of the range open.
+ */
+public record KeyRange(byte[] lower, byte[] upper) {
+    public static final KeyRange ALL = new KeyRange(null, null);
+
+    /**
+     * Builds the range matching {@code prefix} (if given) intersected with
+     * {@code [from, to)} (each if given).
+     */
+    public static KeyRange of(String prefix, String from, String to) {
+        KeyRange range = ALL;
+        if (prefix != null && !prefix.isEmpty()) {
+            range = prefix(prefix.getBytes(StandardCharsets.UTF_8));
+        }
+        return range.intersect(
+            from == null || from.isEmpty() ? null : from.getBytes(StandardCharsets.UTF_8),
+            to == null || to.isEmpty() ? null : to.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeyRange prefix(byte[] prefix) {
+        return new KeyRange(prefix, successor(prefix));
+    }
+
+    public KeyRange intersect(byte[] from, byte[] to) {
+        return new KeyRange(greater(lower, from), lesser(upper, to));
+    }
+
+    public boolean isEmpty() {
+        return lower != null && upper != null && Arrays.compareUnsigned(lower, upper) >= 0;
+    }
+
+    public boolean contains(byte[] key) {
+        return (lower == null || Arrays.compareUnsigned(key, lower) >= 0)
+            && (upper == null || Arrays.compareUnsigned(key, upper) < 0);
+    }
+
+    private static byte[] greater(byte[] a, byte[] b) {
+        if (a == null || b == null) {
+            return a == null ? b : a;
+        }
+        return Arrays.compareUnsigned(a, b) >= 0 ? a : b;
+    }
+
+    private static byte[] lesser(byte[] a, byte[] b) {
+        if (a == null || b == null) {
+            return a == null ? b : a;
+        }
+        return Arrays.compareUnsigned(a, b) <= 0 ? a : b;
+    }
+
+    /**
+     * The smallest key that is greater than every key starting with
+     * {@code prefix}, or {@code null} if there is none (all bytes 0xFF).
+     */
+    static byte[] successor(byte[] prefix) {
+        for (int i = prefix.length - 1; i >= 0; i--) {
+            if (prefix[i] != (byte) 0xFF) {
+                byte[] next = Arrays.copyOf(prefix, i + 1);
+                next[i]++;
+                return next;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,92 @@
+package dev.rocksdb.explorer.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+
+import dev.rocksdb.explorer.model.KeyChange;
+
+/**
+ * Tracks which keys of a range changed between catch-ups of a secondary
+ * instance.
+ *
+ * Only a 64-bit hash of each value is kept, so memory grows with the number
+ * of keys watched rather than their size. The range is only rescanned when
+ * catching up actually advanced the sequence number, so an idle primary
+ * costs one {@code tryCatchUpWithPrimary} call per poll.
+ *
+ * The same range is rescanned on every change, so its blocks are kept in the
+ * block cache rather than read as a bulk scan.
+ *
+ * Not thread-safe; polls of one tail must not overlap.
+ */
+final class KeyspaceTail {
+    private final KeyRange range;
+    private final int maxKeys;
+    private Map<ByteBuffer, Long> hashes;
+    private long sequence = -1;
+
+    KeyspaceTail(KeyRange range, int maxKeys) {
+        this.range = range;
+        this.maxKeys = maxKeys;
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    /**
+     * Catches up with the primary and returns the keys that changed since
+     * the previous poll, in key order with deletions last. The first poll
+     * records the baseline and returns nothing.
+     */
+    List<KeyChange> poll(RocksDB db, ColumnFamilyHandle columnFamily) throws RocksDBException {
+        db.tryCatchUpWithPrimary();
+        long latest = db.getLatestSequenceNumber();
+        if (hashes != null && latest == sequence) {
+            return List.of();
+        }
+
+        Map<ByteBuffer, Long> previous = hashes == null ? new HashMap<>() : hashes;
+        Map<ByteBuffer, Long> current = new HashMap<>(previous.size());
+        List<KeyChange> changes = new ArrayList<>();
+        try (RangeScan scan = RangeScan.open(db, columnFamily, range)) {
+            RocksIterator iter = scan.iterator();
+            IteratorBuffers buffers = new IteratorBuffers();
+            for (scan.seekToStart(); iter.isValid(); iter.next()) {
+                if (current.size() >= maxKeys) {
+                    throw new IllegalArgumentException("Range holds more than " + maxKeys
+                        + " keys; narrow it with prefix, from or to");
+                }
+                buffers.readKey(iter);
+                buffers.readValue(iter);
+                ByteBuffer key = ByteBuffer.wrap(buffers.keyBytes());
+                long hash = buffers.valueHash();
+                current.put(key, hash);
+                Long before = previous.remove(key);
+                if (hashes != null && (before == null || before != hash)) {
+                    changes.add(new KeyChange(buffers.keyString(), buffers.valueString(), false));
+                }
+            }
+            iter.status();
+        }
+        if (hashes != null) {
+            previous.keySet().stream()
+                .sorted((a, b) -> Arrays.compareUnsigned(a.array(), b.array()))
+                .forEach(key -> changes.add(new KeyChange(new String(key.array(), StandardCharsets.UTF_8), null, true)));
+        }
+
+        hashes = current;
+        sequence = latest;
+        return changes;
+    }
+}
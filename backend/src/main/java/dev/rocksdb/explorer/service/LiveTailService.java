@@ -0,0 +1,128 @@
+package dev.rocksdb.explorer.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.rocksdb.RocksDBException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+import dev.rocksdb.explorer.model.ChangeBatch;
+import dev.rocksdb.explorer.model.KeyChange;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Streams the keys that change in a secondary instance as its primary keeps
+ * writing. Each tail periodically catches up with the primary and sends a
+ * {@code changes} event with only the keys that differ from the previous
+ * poll, so clients never re-fetch the whole range.
+ */
+@Service
+public class LiveTailService {
+    private static final Logger log = LoggerFactory.getLogger(LiveTailService.class);
+
+    private final DatabaseSessionRegistry sessionRegistry;
+    private final ExplorerProperties.Tail limits;
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "tail-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public LiveTailService(DatabaseSessionRegistry sessionRegistry, ExplorerProperties properties) {
+        this.sessionRegistry = sessionRegistry;
+        this.limits = properties.getTail();
+    }
+
+    /**
+     * Starts tailing {@code range} of a column family ({@code null} for the
+     * default one) of a database opened as a secondary. The
+     * first event, {@code ready}, carries the sequence number the tail
+     * starts from.
+     */
+    public SseEmitter tail(String id, String columnFamily, KeyRange range) throws RocksDBException, IOException {
+        KeyspaceTail tail = new KeyspaceTail(range, limits.getMaxKeys());
+        try (DatabaseSession.Lease lease = sessionRegistry.acquire(id)) {
+            if (!lease.session().isSecondary()) {
+                throw new IllegalArgumentException("Live tail requires a database opened as a secondary instance");
+            }
+            tail.poll(lease.db(), lease.columnFamily(columnFamily));
+        }
+
+        SseEmitter emitter = new SseEmitter(limits.getTimeout().toMillis());
+        emitter.send(SseEmitter.event()
+            .name("ready")
+            .id(Long.toString(tail.sequence()))
+            .data(new ChangeBatch(tail.sequence(), List.of())));
+
+        Poll poll = new Poll(id, columnFamily, tail, emitter);
+        long interval = limits.getPollInterval().toMillis();
+        poll.future = poller.scheduleWithFixedDelay(poll, interval, interval, TimeUnit.MILLISECONDS);
+        emitter.onCompletion(poll::cancel);
+        emitter.onTimeout(poll::cancel);
+        emitter.onError(e -> poll.cancel());
+        log.info("Tailing database {} from sequence {}", id, tail.sequence());
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdownNow();
+    }
+
+    private final class Poll implements Runnable {
+        private final String id;
+        private final String columnFamily;
+        private final KeyspaceTail tail;
+        private final SseEmitter emitter;
+        private volatile ScheduledFuture<?> future;
+
+        private Poll(String id, String columnFamily, KeyspaceTail tail, SseEmitter emitter) {
+            this.id = id;
+            this.columnFamily = columnFamily;
+            this.tail = tail;
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void run() {
+            try {
+                List<KeyChange> changes;
+                try (DatabaseSession.Lease lease = sessionRegistry.acquire(id)) {
+                    changes = tail.poll(lease.db(), lease.columnFamily(columnFamily));
+                }
+                if (!changes.isEmpty()) {
+                    emitter.send(SseEmitter.event()
+                        .name("changes")
+                        .id(Long.toString(tail.sequence()))
+                        .data(new ChangeBatch(tail.sequence(), changes)));
+                }
+            } catch (DatabaseNotFoundException e) {
+                log.info("Database {} was closed, ending tail", id);
+                cancel();
+                emitter.complete();
+            } catch (IOException e) {
+                // The client went away
+                cancel();
+            } catch (RocksDBException | RuntimeException e) {
+                log.warn("Tail of database {} failed", id, e);
+                cancel();
+                emitter.completeWithError(e);
+            }
+        }
+
+        private void cancel() {
+            ScheduledFuture<?> scheduled = future;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        }
+    }
+}
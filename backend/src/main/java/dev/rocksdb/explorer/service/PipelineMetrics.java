@@ -0,0 +1,150 @@
+package dev.rocksdb.explorer.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Times each stage of the upload and scan pipeline and counts the bytes and
+ * keys that pass through it.
+ *
+ * Stages are Micrometer observations, so Spring Boot records each as a timer
+ * of the same name and, once a tracing bridge is on the classpath, as a span.
+ * Throughput follows from the counters, e.g. keys per second of scanning is
+ * {@code rate(explorer_scan_keys_total[5m]) / rate(explorer_scan_seconds_sum[5m])}.
+ */
+@Component
+public class PipelineMetrics {
+    /** Moving a received multipart upload to a staging file. */
+    public static final String RECEIVE = "explorer.upload.receive";
+    /** Unpacking an archive into a staging directory. */
+    public static final String EXTRACT = "explorer.upload.extract";
+    /** Looking for the database directory below a local path. */
+    public static final String LOCATE = "explorer.database.locate";
+    /** Opening a database with all of its column families. */
+    public static final String OPEN = "explorer.database.open";
+    /** Iterating over a key range, tagged with the {@code operation}. */
+    public static final String SCAN = "explorer.scan";
+    /**
+     * Turning scanned entries into the response format, tagged like the scan.
+     * Includes compressing them and handing them to the client connection.
+     */
+    public static final String SERIALIZE = "explorer.scan.serialize";
+
+    private final ObservationRegistry observations;
+    private final MeterRegistry meters;
+    private final Counter extractedBytes;
+
+    public PipelineMetrics(ObservationRegistry observations, MeterRegistry meters) {
+        this.observations = observations;
+        this.meters = meters;
+        this.extractedBytes = Counter.builder("explorer.upload.extracted")
+            .description("Bytes written to extracted files")
+            .baseUnit(BaseUnits.BYTES)
+            .register(meters);
+    }
+
+    /**
+     * Runs one stage of the pipeline, recording how long it took and whether
+     * it failed.
+     */
+    public <T, E extends Throwable> T observe(String stage, Observation.CheckedCallable<T, E> callable) throws E {
+        return Observation.createNotStarted(stage, observations).observeChecked(callable);
+    }
+
+    /**
+     * Counts {@code bytes} written to disk by an extraction.
+     */
+    public void extracted(long bytes) {
+        extractedBytes.increment(bytes);
+    }
+
+    /**
+     * Starts timing a scan; close it once the iterator is done, after
+     * reporting an {@link Scan#error error} if it failed.
+     *
+     * @param operation what the scan is for, such as {@code export} or {@code search}
+     */
+    public Scan scan(String operation) {
+        Observation observation = Observation.createNotStarted(SCAN, observations)
+            .lowCardinalityKeyValue("operation", operation)
+            .start();
+        return new Scan(operation, observation);
+    }
+
+    /**
+     * A running scan. Entries may be counted from several shard threads.
+     */
+    public final class Scan implements AutoCloseable {
+        private final String operation;
+        private final Observation observation;
+        private final LongAdder keys = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder serializeNanos = new LongAdder();
+        private final AtomicBoolean failed = new AtomicBoolean();
+
+        private Scan(String operation, Observation observation) {
+            this.operation = operation;
+            this.observation = observation;
+        }
+
+        public void entry(int keyLength, int valueLength) {
+            keys.increment();
+            bytes.add(keyLength + (long) valueLength);
+        }
+
+        /** Counts entries that were tallied elsewhere, for example by one shard. */
+        public void add(long keyCount, long byteCount) {
+            keys.add(keyCount);
+            bytes.add(byteCount);
+        }
+
+        /** Adds time spent turning entries into output. */
+        public void serialized(long nanos) {
+            serializeNanos.add(nanos);
+        }
+
+        /**
+         * Marks the scan as failed, so that its timer is tagged with the
+         * exception like a failed stage. Only the first error is recorded.
+         * Entries counted before the failure are still reported on close.
+         */
+        public void error(Throwable error) {
+            if (failed.compareAndSet(false, true)) {
+                observation.error(error);
+            }
+        }
+
+        @Override
+        public void close() {
+            observation.stop();
+            Counter.builder("explorer.scan.keys")
+                .description("Keys read by scans")
+                .tag("operation", operation)
+                .register(meters)
+                .increment(keys.sum());
+            Counter.builder("explorer.scan.data")
+                .description("Key and value bytes read by scans")
+                .baseUnit(BaseUnits.BYTES)
+                .tag("operation", operation)
+                .register(meters)
+                .increment(bytes.sum());
+            long nanos = serializeNanos.sum();
+            if (nanos > 0) {
+                Timer.builder(SERIALIZE)
+                    .tag("operation", operation)
+                    .register(meters)
+                    .record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package dev.rocksdb.explorer.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.springframework.stereotype.Service;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+import dev.rocksdb.explorer.model.PrefixHistogram;
+import dev.rocksdb.explorer.model.PrefixStats;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Breaks a key range down by key prefix in one pass over the iterator.
+ *
+ * Memory is bounded by the number of distinct prefixes, not keys: each prefix
+ * holds a few counters and a {@link ValueSizeSketch}, and prefixes beyond the
+ * limit are folded into a single "other" group. Keys sharing a prefix are
+ * adjacent in key order, so the prefix is only looked up when it changes.
+ * Values are never copied; only their length is read.
+ */
+@Service
+@RequiredArgsConstructor
+public class PrefixHistogramService {
+    public static final int MAX_PREFIXES = 10_000;
+    private static final byte[] NO_PREFIX = new byte[0];
+
+    private final DatabaseSessionRegistry sessionRegistry;
+    private final ExplorerProperties properties;
+    private final PipelineMetrics metrics;
+
+    /**
+     * Groups the keys of {@code range} by everything up to and including the
+     * first {@code delimiter}, reporting at most {@code maxPrefixes} groups.
+     */
+    public PrefixHistogram histogram(String databaseId, String columnFamily, KeyRange range, String delimiter,
+            int maxPrefixes) throws RocksDBException {
+        byte[] delimiterBytes = delimiter == null ? NO_PREFIX : delimiter.getBytes(StandardCharsets.UTF_8);
+        if (delimiterBytes.length != 1) {
+            throw new IllegalArgumentException("delimiter must be a single ASCII character");
+        }
+        if (maxPrefixes < 1 || maxPrefixes > MAX_PREFIXES) {
+            throw new IllegalArgumentException("maxPrefixes must be between 1 and " + MAX_PREFIXES);
+        }
+        byte separator = delimiterBytes[0];
+
+        Map<String, Group> groups = new LinkedHashMap<>();
+        Group other = new Group();
+        if (!range.isEmpty()) {
+            try (PipelineMetrics.Scan recorder = metrics.scan("prefixes")) {
+                try (DatabaseSession.Lease lease = sessionRegistry.acquire(databaseId);
+                     RangeScan scan = RangeScan.openBulk(lease.db(), lease.columnFamily(columnFamily), range,
+                         properties.getScan().getReadaheadSize().toBytes())) {
+                    RocksIterator iter = scan.iterator();
+                    IteratorBuffers buffers = new IteratorBuffers();
+                    byte[] currentPrefix = null;
+                    Group current = null;
+                    for (scan.seekToStart(); iter.isValid(); iter.next()) {
+                        int keyLength = buffers.readKey(iter).remaining();
+                        boolean samePrefix = currentPrefix != null && (currentPrefix.length == 0
+                            ? buffers.keyIndexOf(separator) < 0
+                            : buffers.keyStartsWith(currentPrefix));
+                        if (!samePrefix) {
+                            int end = buffers.keyIndexOf(separator);
+                            currentPrefix = end < 0 ? NO_PREFIX : Arrays.copyOf(buffers.keyBytes(), end + 1);
+                            String prefix = new String(currentPrefix, StandardCharsets.UTF_8);
+                            current = groups.get(prefix);
+                            if (current == null) {
+                                current = groups.size() < maxPrefixes ? new Group() : other;
+                                if (current != other) {
+                                    groups.put(prefix, current);
+                                }
+                            }
+                        }
+                        int valueLength = buffers.valueLength(iter);
+                        current.add(keyLength, valueLength);
+                        recorder.entry(keyLength, valueLength);
+                    }
+                    iter.status();
+                } catch (RocksDBException | RuntimeException e) {
+                    recorder.error(e);
+                    throw e;
+                }
+            }
+        }
+
+        List<PrefixStats> prefixes = groups.entrySet().stream()
+            .map(entry -> entry.getValue().toStats(entry.getKey()))
+            .toList();
+        return new PrefixHistogram(delimiter, prefixes, other.count == 0 ? null : other.toStats(null));
+    }
+
+    private static final class Group {
+        private long count;
+        private long keyBytes;
+        private long valueBytes;
+        private final ValueSizeSketch valueSizes = new ValueSizeSketch();
+
+        void add(int keyLength, int valueLength) {
+            count++;
+            keyBytes += keyLength;
+            valueBytes += valueLength;
+            valueSizes.add(valueLength);
+        }
+
+        PrefixStats toStats(String prefix) {
+            return new PrefixStats(prefix, count, keyBytes, valueBytes,
+                valueSizes.quantile(0.5), valueSizes.quantile(0.99), valueSizes.max());
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package dev.rocksdb.explorer.service;
+
+import java.util.Arrays;
+
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.Slice;
+
+/**
+ * An iterator confined to a {@link KeyRange}. The bounds are pushed down to
+ * RocksDB through {@link ReadOptions#setIterateLowerBound} and
+ * {@link ReadOptions#setIterateUpperBound}, so blocks outside the range are
+ * never read from the SST files.
+ *
+ * Bulk scans, which read a whole range once, do not fill the shared block
+ * cache and read ahead instead, so a dump or search of one database does not
+ * evict the blocks that paged browsing of other databases is using.
+ */
+public final class RangeScan implements AutoCloseable {
+    private final KeyRange range;
+    private final Slice lowerBound;
+    private final Slice upperBound;
+    private final ReadOptions readOptions;
+    private final RocksIterator iterator;
+
+    private RangeScan(RocksDB db, ColumnFamilyHandle columnFamily, KeyRange range, ReadOptions readOptions) {
+        this.range = range;
+        this.readOptions = readOptions;
+        this.lowerBound = range.lower() == null ? null : new Slice(range.lower());
+        this.upperBound = range.upper() == null ? null : new Slice(range.upper());
+        if (lowerBound != null) {
+            readOptions.setIterateLowerBound(lowerBound);
+        }
+        if (upperBound != null) {
+            readOptions.setIterateUpperBound(upperBound);
+        }
+        this.iterator = db.newIterator(columnFamily, readOptions);
+    }
+
+    /**
+     * Opens a scan for reading a page or two; blocks read are cached.
+     */
+    public static RangeScan open(RocksDB db, ColumnFamilyHandle columnFamily, KeyRange range) {
+        return new RangeScan(db, columnFamily, range, new ReadOptions());
+    }
+
+    /**
+     * Opens a scan for reading through the whole range once.
+     */
+    public static RangeScan openBulk(RocksDB db, ColumnFamilyHandle columnFamily, KeyRange range,
+            long readaheadSize) {
+        ReadOptions readOptions = new ReadOptions()
+            .setFillCache(false)
+            .setReadaheadSize(readaheadSize);
+        return new RangeScan(db, columnFamily, range, readOptions);
+    }
+
+    public RocksIterator iterator() {
+        return iterator;
+    }
+
+    /**
+     * Positions the iterator at the first key of the range.
+     */
+    public void seekToStart() {
+        if (range.lower() == null) {
+            iterator.seekToFirst();
+        } else {
+            iterator.seek(range.lower());
+        }
+    }
+
+    /**
+     * Positions the iterator at the first key of the range that sorts strictly
+     * after {@code cursor}, or at the start of the range if {@code cursor} is
+     * {@code null}.
+     */
+    public void seekAfter(byte[] cursor) {
+        if (cursor == null || (range.lower() != null && Arrays.compareUnsigned(cursor, range.lower()) < 0)) {
+            seekToStart();
+            return;
+        }
+        iterator.seek(cursor);
+        if (iterator.isValid() && Arrays.equals(iterator.key(), cursor)) {
+            iterator.next();
+        }
+    }
+
+    @Override
+    public void close() {
+        iterator.close();
+        readOptions.close();
+        if (lowerBound != null) {
+            lowerBound.close();
+        }
+        if (upperBound != null) {
+            upperBound.close();
+        }
+    }
+}
@@ -2,87 +2,313 @@ package dev.rocksdb.explorer.service;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
-import java.util.zip.ZipInputStream;
 
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.Cache;
+import org.rocksdb.ColumnFamilyDescriptor;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.DBOptions;
 import org.rocksdb.Options;
 import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.Statistics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import dev.rocksdb.explorer.config.ExplorerProperties;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class RocksDBService {
     private static final Logger log = LoggerFactory.getLogger(RocksDBService.class);
+    private final DatabaseSessionRegistry sessionRegistry;
+    private final ArchiveExtractor archiveExtractor;
+    private final ExtractionCache extractionCache;
+    private final ExplorerProperties properties;
+    private final Cache blockCache;
+    private final Statistics statistics;
+    private final PipelineMetrics metrics;
     
     static {
         RocksDB.loadLibrary();
     }
 
     public Map<String, String> processDatabase(MultipartFile file) throws IOException {
-        String sessionId = UUID.randomUUID().toString();
-        Path extractPath = Files.createTempDirectory("rocksdb-" + sessionId);
-        log.info("Extracting to: {}", extractPath);
-        
-        // Extract zip file
-        try (ZipInputStream zis = new ZipInputStream(file.getInputStream())) {
-            var entry = zis.getNextEntry();
-            while (entry != null) {
-                Path filePath = extractPath.resolve(entry.getName());
-                if (!entry.isDirectory()) {
-                    Files.createDirectories(filePath.getParent());
-                    Files.copy(zis, filePath);
-                }
-                entry = zis.getNextEntry();
-            }
-        }
-
-        // Find the directory containing the RocksDB files
-        Path dbPath = findRocksDBDirectory(extractPath);
-        log.info("Found RocksDB directory at: {}", dbPath);
+        return readAll(openDatabase(file));
+    }
 
-        // Read database
+    /**
+     * Reads every entry of the default column family of an open database.
+     * The session stays registered, so follow-up queries can reuse the handle.
+     */
+    public Map<String, String> readAll(DatabaseSession session) {
         Map<String, String> keyValues = new HashMap<>();
-        try (final Options options = new Options();
-             final RocksDB db = RocksDB.openReadOnly(options.setCreateIfMissing(false), dbPath.toString())) {
-
-            try (RocksIterator iter = db.newIterator()) {
-                for (iter.seekToFirst(); iter.isValid(); iter.next()) {
-                    String key = new String(iter.key());
-                    String value = new String(iter.value());
-                    keyValues.put(key, value);
+        try (PipelineMetrics.Scan recorder = metrics.scan("read-all")) {
+            try (DatabaseSession.Lease lease = session.acquire();
+                 RangeScan scan = RangeScan.openBulk(lease.db(), lease.columnFamily(null), KeyRange.ALL,
+                     properties.getScan().getReadaheadSize().toBytes())) {
+                RocksIterator iter = scan.iterator();
+                IteratorBuffers buffers = new IteratorBuffers();
+                for (scan.seekToStart(); iter.isValid(); iter.next()) {
+                    int keyLength = buffers.readKey(iter).remaining();
+                    recorder.entry(keyLength, buffers.readValue(iter).remaining());
+                    keyValues.put(buffers.keyString(), buffers.valueString());
                 }
+            } catch (Exception e) {
+                recorder.error(e);
+                throw e;
             }
         } catch (Exception e) {
             log.error("Error reading RocksDB database", e);
             throw new RuntimeException("Failed to read RocksDB database", e);
-        } finally {
-            // Cleanup
-            deleteDirectory(extractPath.toFile());
         }
 
         return keyValues;
     }
 
-    private Path findRocksDBDirectory(Path root) throws IOException {
-        // Look for common RocksDB files like CURRENT, MANIFEST, or *.log
-        try (var files = Files.walk(root)) {
-            return files
-                .filter(Files::isRegularFile)
-                .filter(p -> p.getFileName().toString().equals("CURRENT") 
-                    || p.getFileName().toString().startsWith("MANIFEST"))
-                .map(Path::getParent)
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("No RocksDB files found in the archive"));
+    /**
+     * Extracts and opens the uploaded database and keeps it open for
+     * follow-up queries until it is closed through the registry. The upload
+     * has already been received in full, so it is moved to a file and opened
+     * like one with {@link #openDatabase(Path, ArchiveExtractor.Listener)}.
+     */
+    public DatabaseSession openDatabase(MultipartFile file) throws IOException {
+        Path spooled = extractionCache.newStagingFile();
+        try {
+            metrics.observe(PipelineMetrics.RECEIVE, () -> {
+                file.transferTo(spooled.toFile());
+                return spooled;
+            });
+            return openDatabase(spooled, ArchiveExtractor.Listener.NONE);
+        } finally {
+            Files.deleteIfExists(spooled);
+        }
+    }
+
+    /**
+     * Opens the database in the zip archive file {@code archive}. The file is
+     * hashed first, so a repeat upload of the same archive skips extraction
+     * entirely; otherwise its entries are inflated in parallel, reporting
+     * progress to {@code listener}.
+     */
+    public DatabaseSession openDatabase(Path archive, ArchiveExtractor.Listener listener) throws IOException {
+        String digest;
+        try (InputStream in = Files.newInputStream(archive)) {
+            digest = ArchiveExtractor.digest(in);
+        }
+        DatabaseSession known = findExtracted(digest);
+        if (known != null) {
+            return known;
+        }
+        return extractAndOpen(digest, staging -> archiveExtractor.extract(archive, digest, staging, listener));
+    }
+
+    /**
+     * Opens the database in a zip archive read from {@code archive}, for
+     * example a raw request body.
+     *
+     * If {@code expectedDigest} is given and an archive with that SHA-256 is
+     * already open or cached, the stream is not read at all. Otherwise the
+     * archive is hashed while it is extracted, and the extraction is cached
+     * under that digest for the next upload of the same archive.
+     */
+    public DatabaseSession openDatabase(InputStream archive, String expectedDigest) throws IOException {
+        return openDatabase(archive, expectedDigest, ArchiveExtractor.Listener.NONE);
+    }
+
+    /**
+     * Like {@link #openDatabase(InputStream, String)}, reporting extraction
+     * progress to {@code listener}.
+     */
+    public DatabaseSession openDatabase(InputStream archive, String expectedDigest, ArchiveExtractor.Listener listener)
+            throws IOException {
+        if (expectedDigest != null) {
+            expectedDigest = expectedDigest.toLowerCase(Locale.ROOT);
+            DatabaseSession known = findExtracted(expectedDigest);
+            if (known != null) {
+                return known;
+            }
+        }
+        return extractAndOpen(expectedDigest, staging -> archiveExtractor.extract(archive, staging, listener));
+    }
+
+    /**
+     * Returns the session of an archive that is already open, or reopens its
+     * cached extraction; {@code null} if it has to be extracted.
+     */
+    private DatabaseSession findExtracted(String digest) {
+        DatabaseSession open = sessionRegistry.findByDigest(digest);
+        if (open != null) {
+            log.info("Archive {} is already open as {}", digest, open.getId());
+            return open;
+        }
+        ExtractionCache.Entry cached = extractionCache.lookup(digest);
+        if (cached != null) {
+            log.info("Reopening cached extraction of {}", digest);
+            return open(cached);
+        }
+        return null;
+    }
+
+    private DatabaseSession extractAndOpen(String expectedDigest, Extraction extraction) throws IOException {
+        Path staging = extractionCache.newStagingDirectory();
+        log.info("Extracting to: {}", staging);
+        ExtractedArchive extracted;
+        try {
+            extracted = metrics.observe(PipelineMetrics.EXTRACT, () -> extraction.extractTo(staging));
+            metrics.extracted(extracted.size());
+            if (extracted.dbDirectory() == null) {
+                throw new RuntimeException("No RocksDB files found in the archive");
+            }
+            if (expectedDigest != null && !expectedDigest.equals(extracted.digest())) {
+                throw new IllegalArgumentException("Archive digest " + extracted.digest()
+                    + " does not match the expected " + expectedDigest);
+            }
+            log.info("Found RocksDB directory at: {}", extracted.dbDirectory());
+        } catch (ArchiveTooLargeException | IllegalArgumentException e) {
+            deleteDirectory(staging.toFile());
+            throw e;
+        } catch (Exception e) {
+            log.error("Error extracting RocksDB database", e);
+            deleteDirectory(staging.toFile());
+            throw new RuntimeException("Failed to open RocksDB database", e);
+        }
+
+        DatabaseSession open = sessionRegistry.findByDigest(extracted.digest());
+        if (open != null) {
+            log.info("Archive {} is already open as {}", extracted.digest(), open.getId());
+            deleteDirectory(staging.toFile());
+            return open;
+        }
+        return open(extractionCache.commit(extracted.digest(), staging, extracted));
+    }
+
+    @FunctionalInterface
+    private interface Extraction {
+        ExtractedArchive extractTo(Path staging) throws IOException;
+    }
+
+    /**
+     * Opens a database that already exists on this host, without copying it.
+     * The path must lie under one of {@code explorer.local.allowed-roots}.
+     *
+     * A read-only instance sees the database as of the moment it was opened.
+     * A secondary instance can later catch up with a primary that is still
+     * writing to the directory; it keeps its own info log in a scratch
+     * directory that is deleted when the session closes.
+     */
+    public DatabaseSession openLocalDatabase(String path, boolean secondary) throws IOException {
+        Path root = DatabaseFiles.resolveAllowed(path, properties.getLocal().getAllowedRoots());
+        Path dbPath = metrics.observe(PipelineMetrics.LOCATE, () -> DatabaseFiles.findDatabaseDirectory(root));
+        log.info("Opening local database at {} ({})", dbPath, secondary ? "secondary" : "read-only");
+
+        Path secondaryPath = null;
+        try {
+            if (secondary) {
+                Files.createDirectories(properties.getLocal().getSecondaryDirectory());
+                secondaryPath = Files.createTempDirectory(properties.getLocal().getSecondaryDirectory(), "secondary-");
+            }
+            Path scratch = secondaryPath;
+            DatabaseSession session = metrics
+                .observe(PipelineMetrics.OPEN, () -> openColumnFamilies(dbPath, scratch))
+                .id(UUID.randomUUID().toString())
+                .dbPath(dbPath)
+                .secondary(secondary)
+                .onClose(scratch == null ? null : () -> deleteDirectory(scratch.toFile()))
+                .build();
+            sessionRegistry.register(session);
+            return session;
+        } catch (Exception e) {
+            log.error("Error opening local RocksDB database", e);
+            if (secondaryPath != null) {
+                deleteDirectory(secondaryPath.toFile());
+            }
+            throw new RuntimeException("Failed to open RocksDB database", e);
+        }
+    }
+
+    private DatabaseSession open(ExtractionCache.Entry entry) {
+        try {
+            DatabaseSession session = metrics
+                .observe(PipelineMetrics.OPEN, () -> openColumnFamilies(entry.getDbPath(), null))
+                .id(UUID.randomUUID().toString())
+                .dbPath(entry.getDbPath())
+                .diskUsage(entry.getSize())
+                .contentDigest(entry.getDigest())
+                .onClose(entry::release)
+                .build();
+            sessionRegistry.register(session);
+            return session;
+        } catch (Exception e) {
+            log.error("Error opening RocksDB database", e);
+            entry.discard();
+            throw new RuntimeException("Failed to open RocksDB database", e);
+        }
+    }
+
+    /**
+     * Opens every column family of the database at {@code dbPath}, read-only,
+     * or as a secondary if {@code secondaryPath} is given. Every column family
+     * of every database uses the viewer-wide block cache and statistics.
+     * Nothing is left open if this fails.
+     */
+    private DatabaseSession.DatabaseSessionBuilder openColumnFamilies(Path dbPath, Path secondaryPath)
+            throws RocksDBException {
+        List<byte[]> names;
+        try (Options listOptions = new Options()) {
+            names = RocksDB.listColumnFamilies(listOptions, dbPath.toString());
+        }
+
+        ColumnFamilyOptions cfOptions = new ColumnFamilyOptions()
+            .setTableFormatConfig(new BlockBasedTableConfig().setBlockCache(blockCache));
+        DBOptions dbOptions = new DBOptions()
+            .setCreateIfMissing(false)
+            .setStatistics(statistics);
+        List<AutoCloseable> resources = List.of(cfOptions, dbOptions);
+        List<ColumnFamilyDescriptor> descriptors = names.stream()
+            .map(name -> new ColumnFamilyDescriptor(name, cfOptions))
+            .toList();
+        List<ColumnFamilyHandle> handles = new ArrayList<>();
+        try {
+            RocksDB db;
+            if (secondaryPath != null) {
+                // Secondaries must keep every table file open to follow the primary
+                dbOptions.setMaxOpenFiles(-1);
+                db = RocksDB.openAsSecondary(dbOptions, dbPath.toString(), secondaryPath.toString(),
+                    descriptors, handles);
+            } else {
+                db = RocksDB.openReadOnly(dbOptions, dbPath.toString(), descriptors, handles);
+            }
+            Map<String, ColumnFamilyHandle> columnFamilies = new LinkedHashMap<>();
+            for (int i = 0; i < names.size(); i++) {
+                columnFamilies.put(new String(names.get(i), StandardCharsets.UTF_8), handles.get(i));
+            }
+            log.info("Opened column families {} of {}", columnFamilies.keySet(), dbPath);
+            return DatabaseSession.builder()
+                .db(db)
+                .columnFamilies(columnFamilies)
+                .resources(resources);
+        } catch (RocksDBException | RuntimeException e) {
+            handles.forEach(ColumnFamilyHandle::close);
+            cfOptions.close();
+            dbOptions.close();
+            throw e;
         }
     }
 
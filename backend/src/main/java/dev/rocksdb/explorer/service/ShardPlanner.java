@@ -0,0 +1,70 @@
+package dev.rocksdb.explorer.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.LiveFileMetaData;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+
+/**
+ * Splits a key range into contiguous shards that can be scanned
+ * independently. Shard boundaries are the smallest keys of the live SST
+ * files, which spreads the work roughly by data volume without reading any
+ * data blocks.
+ */
+public final class ShardPlanner {
+
+    private ShardPlanner() {
+    }
+
+    /**
+     * Returns at most {@code maxShards} non-overlapping ranges that together
+     * cover {@code range} of {@code columnFamily}, in key order.
+     */
+    public static List<KeyRange> split(RocksDB db, ColumnFamilyHandle columnFamily, KeyRange range, int maxShards)
+            throws RocksDBException {
+        byte[] name = columnFamily.getName();
+        TreeSet<byte[]> boundaries = new TreeSet<byte[]>(Arrays::compareUnsigned);
+        for (LiveFileMetaData file : db.getLiveFilesMetaData()) {
+            if (!Arrays.equals(file.columnFamilyName(), name)) {
+                continue;
+            }
+            byte[] key = file.smallestKey();
+            if (range.contains(key) && (range.lower() == null || !Arrays.equals(key, range.lower()))) {
+                boundaries.add(key);
+            }
+        }
+
+        List<byte[]> cuts = pick(new ArrayList<>(boundaries), maxShards - 1);
+        List<KeyRange> shards = new ArrayList<>(cuts.size() + 1);
+        byte[] lower = range.lower();
+        for (byte[] cut : cuts) {
+            shards.add(new KeyRange(lower, cut));
+            lower = cut;
+        }
+        shards.add(new KeyRange(lower, range.upper()));
+        return shards;
+    }
+
+    private static List<byte[]> pick(List<byte[]> sorted, int count) {
+        if (count <= 0) {
+            return List.of();
+        }
+        if (sorted.size() <= count) {
+            return sorted;
+        }
+        List<byte[]> picked = new ArrayList<>(count);
+        double step = (double) sorted.size() / (count + 1);
+        for (int i = 1; i <= count; i++) {
+            byte[] cut = sorted.get((int) (i * step));
+            if (picked.isEmpty() || picked.get(picked.size() - 1) != cut) {
+                picked.add(cut);
+            }
+        }
+        return picked;
+    }
+}
@@ -0,0 +1,150 @@
+package dev.rocksdb.explorer.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+
+/**
+ * Finds the first matching entries of a key range with concurrent bulk
+ * scans. The range is split into shards along SST file boundaries by
+ * {@link ShardPlanner}, each shard is scanned with its own iterator on the
+ * scan executor, and the matches are merged back in key order. Shards stop
+ * once they have enough matches, and those after the shard that completes
+ * the result are cancelled.
+ */
+final class ShardedScan {
+
+    /**
+     * Decides on the entry an iterator is at, whose value has been read into
+     * the buffers already. Returns the match, or {@code null} if the entry
+     * does not match. Every shard gets its own matcher, which may therefore
+     * reuse state from one entry to the next.
+     */
+    @FunctionalInterface
+    interface Matcher<T> {
+        T match(RocksIterator iter, IteratorBuffers buffers, ByteBuffer value) throws IOException;
+    }
+
+    /**
+     * At most the requested number of matches, in key order. {@code more}
+     * is set only when at least one further entry matches.
+     */
+    record Result<T>(List<T> matches, boolean more, int shards) {
+    }
+
+    private ShardedScan() {
+    }
+
+    /**
+     * Returns the first {@code limit} entries of {@code range} that
+     * {@code matchers} match. The scans are counted on {@code recorder};
+     * the iterators are closed when this returns, so the database may be
+     * released afterwards.
+     */
+    static <T> Result<T> run(RocksDB db, ColumnFamilyHandle columnFamily, KeyRange range, int limit,
+            ExecutorService executor, ExplorerProperties.Scan properties, PipelineMetrics.Scan recorder,
+            Supplier<Matcher<T>> matchers) throws RocksDBException {
+        // One extra match tells whether there are more
+        int wanted = limit + 1;
+        List<Shard<T>> shards = ShardPlanner.split(db, columnFamily, range, properties.getMaxShards())
+            .stream()
+            .map(shardRange -> new Shard<T>(db, columnFamily, shardRange, matchers.get(), wanted,
+                properties.getReadaheadSize().toBytes(), recorder))
+            .toList();
+        List<CompletableFuture<Void>> futures = shards.stream()
+            .map(shard -> CompletableFuture.runAsync(shard::scan, executor))
+            .toList();
+
+        List<T> matches = new ArrayList<>();
+        try {
+            for (int i = 0; i < shards.size() && matches.size() < wanted; i++) {
+                futures.get(i).join();
+                for (T match : shards.get(i).matches) {
+                    if (matches.size() == wanted) {
+                        break;
+                    }
+                    matches.add(match);
+                }
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RocksDBException rocksDBException) {
+                throw rocksDBException;
+            }
+            throw e;
+        } finally {
+            // Iterators must be closed before the lease is returned
+            shards.forEach(Shard::cancel);
+            futures.forEach(future -> future.handle((result, error) -> null).join());
+        }
+        if (matches.size() <= limit) {
+            return new Result<>(matches, false, shards.size());
+        }
+        return new Result<>(matches.subList(0, limit), true, shards.size());
+    }
+
+    private static final class Shard<T> {
+        private final RocksDB db;
+        private final ColumnFamilyHandle columnFamily;
+        private final KeyRange range;
+        private final Matcher<T> matcher;
+        private final int limit;
+        private final long readaheadSize;
+        private final PipelineMetrics.Scan recorder;
+        private final List<T> matches = new ArrayList<>();
+        private volatile boolean cancelled;
+
+        Shard(RocksDB db, ColumnFamilyHandle columnFamily, KeyRange range, Matcher<T> matcher, int limit,
+                long readaheadSize, PipelineMetrics.Scan recorder) {
+            this.db = db;
+            this.columnFamily = columnFamily;
+            this.range = range;
+            this.matcher = matcher;
+            this.limit = limit;
+            this.readaheadSize = readaheadSize;
+            this.recorder = recorder;
+        }
+
+        void cancel() {
+            cancelled = true;
+        }
+
+        void scan() {
+            long keys = 0;
+            long valueBytes = 0;
+            try (RangeScan scan = RangeScan.openBulk(db, columnFamily, range, readaheadSize)) {
+                RocksIterator iter = scan.iterator();
+                IteratorBuffers buffers = new IteratorBuffers();
+                for (scan.seekToStart(); iter.isValid() && !cancelled && matches.size() < limit; iter.next()) {
+                    ByteBuffer value = buffers.readValue(iter);
+                    keys++;
+                    valueBytes += value.remaining();
+                    T match = matcher.match(iter, buffers, value);
+                    if (match != null) {
+                        matches.add(match);
+                    }
+                }
+                iter.status();
+            } catch (RocksDBException e) {
+                throw new CompletionException(e);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                // Matchers only read the keys of matches, so only value bytes are counted
+                recorder.add(keys, valueBytes);
+            }
+        }
+    }
+}
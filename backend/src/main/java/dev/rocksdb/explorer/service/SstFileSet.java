@@ -0,0 +1,193 @@
+package dev.rocksdb.explorer.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.Cache;
+import org.rocksdb.Options;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.SstFileReader;
+import org.rocksdb.SstFileReaderIterator;
+import org.rocksdb.TableProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import dev.rocksdb.explorer.model.SstFileInfo;
+import dev.rocksdb.explorer.model.SstFileSetInfo;
+
+/**
+ * Loose SST files opened with one {@link SstFileReader} each, without a
+ * database around them. Their table properties and key ranges are read once
+ * when the set is opened.
+ *
+ * Like {@link DatabaseSession}, readers take a {@link Lease} and closing
+ * only marks the set as closing; the readers are released by whoever
+ * returns the last lease.
+ */
+final class SstFileSet {
+    private static final Logger log = LoggerFactory.getLogger(SstFileSet.class);
+
+    private final String id;
+    private final List<SstFile> files;
+    private final Options options;
+    private final Runnable onClose;
+    private final Instant openedAt = Instant.now();
+
+    private volatile long lastAccessNanos = System.nanoTime();
+    private int leases;
+    private boolean closing;
+
+    private SstFileSet(String id, List<SstFile> files, Options options, Runnable onClose) {
+        this.id = id;
+        this.files = files;
+        this.options = options;
+        this.onClose = onClose;
+    }
+
+    /**
+     * Opens every file of {@code paths}, named relative to {@code root}.
+     * Data blocks go through the viewer-wide {@code blockCache}. Nothing is
+     * left open if this fails; {@code onClose} only runs once an opened set
+     * is closed.
+     */
+    static SstFileSet open(String id, Path root, List<Path> paths, Cache blockCache, Runnable onClose)
+            throws RocksDBException, IOException {
+        Options options = new Options()
+            .setTableFormatConfig(new BlockBasedTableConfig().setBlockCache(blockCache));
+        List<SstFile> files = new ArrayList<>(paths.size());
+        try (ReadOptions readOptions = new ReadOptions().setFillCache(false)) {
+            for (Path path : paths) {
+                SstFileReader reader = new SstFileReader(options);
+                try {
+                    reader.open(path.toString());
+                    String name = root.relativize(path).toString();
+                    files.add(new SstFile(name, reader, describe(name, Files.size(path), reader, readOptions)));
+                } catch (RocksDBException | IOException | RuntimeException e) {
+                    reader.close();
+                    throw e;
+                }
+            }
+        } catch (RocksDBException | IOException | RuntimeException e) {
+            files.forEach(file -> file.reader().close());
+            options.close();
+            throw e;
+        }
+        return new SstFileSet(id, List.copyOf(files), options, onClose);
+    }
+
+    private static SstFileInfo describe(String name, long size, SstFileReader reader, ReadOptions readOptions)
+            throws RocksDBException {
+        TableProperties table = reader.getTableProperties();
+        String smallestKey = null;
+        String largestKey = null;
+        try (SstFileReaderIterator iter = reader.newIterator(readOptions)) {
+            iter.seekToFirst();
+            if (iter.isValid()) {
+                smallestKey = new String(iter.key(), StandardCharsets.UTF_8);
+                iter.seekToLast();
+                largestKey = new String(iter.key(), StandardCharsets.UTF_8);
+            }
+            iter.status();
+        }
+        byte[] columnFamily = table.getColumnFamilyName();
+        return new SstFileInfo(
+            name,
+            size,
+            columnFamily == null || columnFamily.length == 0 ? null : new String(columnFamily, StandardCharsets.UTF_8),
+            table.getComparatorName(),
+            table.getCompressionName(),
+            table.getNumEntries(),
+            table.getNumDeletions(),
+            table.getNumRangeDeletions(),
+            table.getRawKeySize(),
+            table.getRawValueSize(),
+            table.getDataSize(),
+            table.getIndexSize(),
+            table.getFilterSize(),
+            smallestKey,
+            largestKey);
+    }
+
+    String getId() {
+        return id;
+    }
+
+    long getLastAccessNanos() {
+        return lastAccessNanos;
+    }
+
+    SstFileSetInfo info() {
+        return new SstFileSetInfo(id, openedAt, files.stream().map(SstFile::info).toList());
+    }
+
+    synchronized Lease acquire() {
+        if (closing) {
+            throw new SstFileSetNotFoundException(id);
+        }
+        lastAccessNanos = System.nanoTime();
+        leases++;
+        return new Lease();
+    }
+
+    void close() {
+        synchronized (this) {
+            if (closing) {
+                return;
+            }
+            closing = true;
+            if (leases > 0) {
+                log.info("SST file set {} still has {} active readers, deferring close", id, leases);
+                return;
+            }
+        }
+        release();
+    }
+
+    private void release() {
+        log.info("Closing SST file set {}", id);
+        files.forEach(file -> file.reader().close());
+        options.close();
+        if (onClose != null) {
+            onClose.run();
+        }
+    }
+
+    private void returnLease() {
+        synchronized (this) {
+            leases--;
+            if (!closing || leases > 0) {
+                return;
+            }
+        }
+        release();
+    }
+
+    record SstFile(String name, SstFileReader reader, SstFileInfo info) {
+    }
+
+    final class Lease implements AutoCloseable {
+        private boolean returned;
+
+        private Lease() {
+        }
+
+        List<SstFile> files() {
+            return files;
+        }
+
+        @Override
+        public void close() {
+            if (!returned) {
+                returned = true;
+                returnLease();
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package dev.rocksdb.explorer.service;
+
+public class SstFileSetNotFoundException extends RuntimeException {
+
+    public SstFileSetNotFoundException(String id) {
+        super("No open SST file set with id " + id);
+    }
+}
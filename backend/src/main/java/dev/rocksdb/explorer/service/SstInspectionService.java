@@ -0,0 +1,197 @@
+package dev.rocksdb.explorer.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.rocksdb.Cache;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDBException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+import dev.rocksdb.explorer.decoder.ValueDecoders;
+import dev.rocksdb.explorer.model.SstEntry;
+import dev.rocksdb.explorer.model.SstEntryPage;
+import dev.rocksdb.explorer.model.SstFileSetInfo;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Inspects loose SST files that do not form a database, for example a few
+ * files copied out of a larger one. Each file is opened with its own
+ * {@link org.rocksdb.SstFileReader}, so nothing needs CURRENT or a MANIFEST
+ * and no database is rebuilt; listing merges the files in key order.
+ */
+@Service
+@RequiredArgsConstructor
+public class SstInspectionService {
+    private static final Logger log = LoggerFactory.getLogger(SstInspectionService.class);
+
+    private final ArchiveExtractor archiveExtractor;
+    private final ExtractionCache extractionCache;
+    private final ValueDecoders valueDecoders;
+    private final ExplorerProperties properties;
+    private final Cache blockCache;
+    private final Map<String, SstFileSet> sets = new ConcurrentHashMap<>();
+
+    /**
+     * Extracts an uploaded zip and opens every {@code .sst} file in it. The
+     * extracted files are deleted when the set is closed.
+     */
+    public SstFileSetInfo openArchive(MultipartFile file) throws IOException, RocksDBException {
+        Path staging = extractionCache.newStagingDirectory();
+        Path spooled = extractionCache.newStagingFile();
+        try {
+            file.transferTo(spooled.toFile());
+            // Loose files are not cached, so the archive is not hashed
+            archiveExtractor.extract(spooled, null, staging, ArchiveExtractor.Listener.NONE);
+            Path root = staging.toAbsolutePath().normalize();
+            return register(root, findSstFiles(root), () -> delete(staging));
+        } catch (IOException | RocksDBException | RuntimeException e) {
+            delete(staging);
+            throw e;
+        } finally {
+            Files.deleteIfExists(spooled);
+        }
+    }
+
+    /**
+     * Opens the {@code .sst} files under a directory on this host in place.
+     * The path must lie under one of {@code explorer.local.allowed-roots}.
+     */
+    public SstFileSetInfo openLocal(String path) throws IOException, RocksDBException {
+        Path root = DatabaseFiles.resolveAllowed(path, properties.getLocal().getAllowedRoots());
+        return register(root, findSstFiles(root), null);
+    }
+
+    public SstFileSetInfo info(String id) {
+        return set(id).info();
+    }
+
+    /**
+     * Lists at most {@code limit} entries of {@code range} after the key
+     * {@code after}, merged across all files of the set. Every version of
+     * the last key is included even beyond {@code limit}, so a key that is
+     * in several files is never split across pages.
+     */
+    public SstEntryPage listEntries(String id, KeyRange range, String after, int limit) throws RocksDBException {
+        if (limit < 1 || limit > EntryQueryService.MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + EntryQueryService.MAX_PAGE_SIZE);
+        }
+        SstFileSet set = set(id);
+        if (range.isEmpty()) {
+            return new SstEntryPage(List.of(), null);
+        }
+
+        try (SstFileSet.Lease lease = set.acquire();
+             ReadOptions readOptions = new ReadOptions();
+             SstMergeIterator merge = new SstMergeIterator(lease.files(), readOptions, range)) {
+            merge.seekAfter(after == null ? null : after.getBytes(StandardCharsets.UTF_8));
+
+            ByteBuffer head = ByteBuffer.allocateDirect(valueDecoders.previewSize());
+            List<SstEntry> entries = new ArrayList<>(limit);
+            byte[] last = null;
+            for (; merge.isValid() && (entries.size() < limit || Arrays.equals(merge.key(), last)); merge.next()) {
+                head.clear();
+                int length = merge.value(head);
+                entries.add(SstEntry.of(merge.file(), valueDecoders.preview(merge.key(), head, length)));
+                last = merge.key();
+            }
+
+            String nextAfter = merge.isValid() && last != null ? new String(last, StandardCharsets.UTF_8) : null;
+            return new SstEntryPage(entries, nextAfter);
+        }
+    }
+
+    public int openSets() {
+        return sets.size();
+    }
+
+    public boolean close(String id) {
+        SstFileSet set = sets.remove(id);
+        if (set == null) {
+            return false;
+        }
+        set.close();
+        return true;
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        sets.keySet().forEach(this::close);
+    }
+
+    private SstFileSet set(String id) {
+        SstFileSet set = sets.get(id);
+        if (set == null) {
+            throw new SstFileSetNotFoundException(id);
+        }
+        return set;
+    }
+
+    private SstFileSetInfo register(Path root, List<Path> files, Runnable onClose)
+            throws IOException, RocksDBException {
+        SstFileSet set = SstFileSet.open(UUID.randomUUID().toString(), root, files, blockCache, onClose);
+        add(set);
+        log.info("Opened {} SST files under {} as {}", files.size(), root, set.getId());
+        return set.info();
+    }
+
+    /**
+     * Adds an opened set, first closing the least recently used ones to stay
+     * within {@code explorer.sst.max-open}. Synchronized so that concurrent
+     * opens neither exceed the limit nor pick the same sets to close.
+     */
+    private synchronized void add(SstFileSet set) {
+        while (!sets.isEmpty() && sets.size() >= properties.getSst().getMaxOpen()) {
+            sets.values().stream()
+                .min(Comparator.comparingLong(SstFileSet::getLastAccessNanos))
+                .ifPresent(oldest -> {
+                    log.info("Closing least recently used SST file set {}", oldest.getId());
+                    close(oldest.getId());
+                });
+        }
+        sets.put(set.getId(), set);
+    }
+
+    private List<Path> findSstFiles(Path root) throws IOException {
+        List<Path> files;
+        try (var walk = Files.walk(root)) {
+            files = walk
+                .filter(Files::isRegularFile)
+                .filter(path -> path.getFileName().toString().endsWith(".sst"))
+                .sorted()
+                .toList();
+        }
+        if (files.isEmpty()) {
+            throw new IllegalArgumentException("No .sst files found");
+        }
+        if (files.size() > properties.getSst().getMaxFiles()) {
+            throw new IllegalArgumentException("Found " + files.size() + " .sst files, more than the "
+                + properties.getSst().getMaxFiles() + " that can be opened together");
+        }
+        return files;
+    }
+
+    private static void delete(Path directory) {
+        try {
+            FileSystemUtils.deleteRecursively(directory);
+        } catch (IOException e) {
+            log.warn("Failed to delete {}", directory, e);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package dev.rocksdb.explorer.service;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.SstFileReaderIterator;
+
+/**
+ * Merges iterators over several SST files into one pass over a key range in
+ * bytewise order. A heap holds the current key of every file that is not yet
+ * exhausted, so each step costs {@code O(log files)} and only one entry per
+ * file is ever held in memory.
+ *
+ * Loose files carry no sequence numbers that would tell which version of a
+ * key is newer, so a key in several files is returned once per file, in the
+ * order of the files.
+ *
+ * Not thread-safe; use one instance per scan.
+ */
+final class SstMergeIterator implements AutoCloseable {
+    private static final Comparator<Cursor> ORDER = Comparator
+        .<Cursor, byte[]>comparing(cursor -> cursor.key, Arrays::compareUnsigned)
+        .thenComparingInt(cursor -> cursor.index);
+
+    private final KeyRange range;
+    private final List<Cursor> cursors;
+    private final PriorityQueue<Cursor> heap;
+    private Cursor current;
+
+    SstMergeIterator(List<SstFileSet.SstFile> files, ReadOptions readOptions, KeyRange range) {
+        this.range = range;
+        this.cursors = new ArrayList<>(files.size());
+        this.heap = new PriorityQueue<>(Math.max(1, files.size()), ORDER);
+        try {
+            for (SstFileSet.SstFile file : files) {
+                cursors.add(new Cursor(cursors.size(), file.name(), file.reader().newIterator(readOptions)));
+            }
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Positions every file at the first key of the range that is greater
+     * than {@code after}, or at the start of the range if {@code null}.
+     */
+    void seekAfter(byte[] after) throws RocksDBException {
+        heap.clear();
+        byte[] lower = range.lower();
+        boolean skipAfter = after != null && (lower == null || Arrays.compareUnsigned(after, lower) >= 0);
+        byte[] start = skipAfter ? after : lower;
+        for (Cursor cursor : cursors) {
+            if (start == null) {
+                cursor.iter.seekToFirst();
+            } else {
+                cursor.iter.seek(start);
+            }
+            if (skipAfter) {
+                while (cursor.iter.isValid() && Arrays.equals(cursor.iter.key(), after)) {
+                    cursor.iter.next();
+                }
+            }
+            if (cursor.load()) {
+                heap.add(cursor);
+            }
+        }
+        current = heap.poll();
+    }
+
+    boolean isValid() {
+        return current != null;
+    }
+
+    byte[] key() {
+        return current.key;
+    }
+
+    /** Name of the file the current entry comes from. */
+    String file() {
+        return current.file;
+    }
+
+    /**
+     * Copies at most {@code head.remaining()} bytes of the current value into
+     * the direct buffer {@code head} and returns the value's full length.
+     */
+    int value(ByteBuffer head) {
+        return current.iter.value(head);
+    }
+
+    void next() throws RocksDBException {
+        current.iter.next();
+        if (current.load()) {
+            heap.add(current);
+        }
+        current = heap.poll();
+    }
+
+    @Override
+    public void close() {
+        cursors.forEach(cursor -> cursor.iter.close());
+    }
+
+    private final class Cursor {
+        private final int index;
+        private final String file;
+        private final SstFileReaderIterator iter;
+        private byte[] key;
+
+        private Cursor(int index, String file, SstFileReaderIterator iter) {
+            this.index = index;
+            this.file = file;
+            this.iter = iter;
+        }
+
+        /**
+         * Reads the key the iterator is at; {@code false} once the file is
+         * exhausted or past the end of the range.
+         */
+        private boolean load() throws RocksDBException {
+            if (!iter.isValid()) {
+                iter.status();
+                return false;
+            }
+            key = iter.key();
+            return range.upper() == null || Arrays.compareUnsigned(key, range.upper()) < 0;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package dev.rocksdb.explorer.service;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import dev.rocksdb.explorer.model.UploadProgress;
+import dev.rocksdb.explorer.model.UploadProgress.State;
+
+/**
+ * Progress of one upload job; readers take a {@link #snapshot()}. The job's
+ * own thread moves it between states, while the extraction counters are
+ * updated by every thread inflating the archive.
+ */
+final class UploadJob implements ArchiveExtractor.Listener {
+    private final String id;
+    private final long archiveSize;
+    private volatile State state = State.QUEUED;
+    private final AtomicLong archiveBytesRead = new AtomicLong();
+    private final AtomicLong bytesExtracted = new AtomicLong();
+    private final AtomicInteger filesExtracted = new AtomicInteger();
+    private volatile long keysScanned;
+    private volatile String databaseId;
+    private volatile String error;
+    private volatile Instant finishedAt;
+
+    UploadJob(String id, long archiveSize) {
+        this.id = id;
+        this.archiveSize = archiveSize;
+    }
+
+    String id() {
+        return id;
+    }
+
+    Instant finishedAt() {
+        return finishedAt;
+    }
+
+    UploadProgress snapshot() {
+        return new UploadProgress(id, state, archiveSize, archiveBytesRead.get(), bytesExtracted.get(),
+            filesExtracted.get(), keysScanned, databaseId, error);
+    }
+
+    void extracting() {
+        state = State.EXTRACTING;
+    }
+
+    void scanning(String databaseId) {
+        this.databaseId = databaseId;
+        state = State.SCANNING;
+    }
+
+    void keysScanned(long keys) {
+        keysScanned = keys;
+    }
+
+    void done() {
+        finishedAt = Instant.now();
+        state = State.DONE;
+    }
+
+    void failed(String error) {
+        this.error = error;
+        finishedAt = Instant.now();
+        state = State.FAILED;
+    }
+
+    @Override
+    public void archiveRead(long n) {
+        archiveBytesRead.addAndGet(n);
+    }
+
+    @Override
+    public void extracted(int n) {
+        bytesExtracted.addAndGet(n);
+    }
+
+    @Override
+    public void fileExtracted(Path file) {
+        filesExtracted.incrementAndGet();
+    }
+}
@@ -0,0 +1,8 @@
+package dev.rocksdb.explorer.service;
+
+public class UploadJobNotFoundException extends RuntimeException {
+
+    public UploadJobNotFoundException(String id) {
+        super("No upload job with id " + id);
+    }
+}
@@ -0,0 +1,252 @@
+package dev.rocksdb.explorer.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+import dev.rocksdb.explorer.model.UploadProgress;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Opens uploaded archives in the background. Submitting a job only moves the
+ * received upload aside, so the request thread is released at once; the
+ * digest, extraction, open and key count then run on a small pool of virtual
+ * threads, and clients poll the job or follow it as server-sent events.
+ *
+ * A job waits for the extraction slot of {@link AdmissionControl} before it
+ * extracts and opens the archive, and for a scan slot before it counts the
+ * keys, so background jobs stay within the same budget as requests.
+ *
+ * Every waiting job holds a spooled archive on disk, so only
+ * {@code explorer.upload.max-queued-jobs} may wait; further uploads are
+ * rejected before they are received.
+ */
+@Service
+public class UploadJobService {
+    private static final Logger log = LoggerFactory.getLogger(UploadJobService.class);
+    private static final int PROGRESS_EVERY_KEYS = 4096;
+
+    private final RocksDBService rocksDBService;
+    private final ExtractionCache extractionCache;
+    private final ExplorerProperties properties;
+    private final PipelineMetrics metrics;
+    private final AdmissionControl admissionControl;
+    private final Map<String, UploadJob> jobs = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService progressSender = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "upload-progress");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public UploadJobService(RocksDBService rocksDBService, ExtractionCache extractionCache,
+            ExplorerProperties properties, PipelineMetrics metrics, AdmissionControl admissionControl) {
+        this.rocksDBService = rocksDBService;
+        this.extractionCache = extractionCache;
+        this.properties = properties;
+        this.metrics = metrics;
+        this.admissionControl = admissionControl;
+        int maxJobs = properties.getUpload().getMaxConcurrentJobs();
+        this.executor = new ThreadPoolExecutor(maxJobs, maxJobs, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(properties.getUpload().getMaxQueuedJobs()),
+            Thread.ofVirtual().name("upload-", 1).factory());
+        long retention = properties.getUpload().getJobRetention().toMillis();
+        progressSender.scheduleWithFixedDelay(this::purgeFinished, retention, retention, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues an uploaded archive for opening and returns the new job.
+     *
+     * @throws UploadQueueFullException if too many jobs are waiting already
+     */
+    public UploadProgress submit(MultipartFile file) throws IOException {
+        purgeFinished();
+        // Checked again when the job is queued, but spooling is what the limit saves
+        if (executor.getQueue().remainingCapacity() == 0) {
+            throw new UploadQueueFullException(executor.getQueue().size());
+        }
+        Path spooled = extractionCache.newStagingFile();
+        try {
+            metrics.observe(PipelineMetrics.RECEIVE, () -> {
+                file.transferTo(spooled.toFile());
+                return spooled;
+            });
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spooled);
+            throw e;
+        }
+
+        UploadJob job = new UploadJob(UUID.randomUUID().toString(), file.getSize());
+        jobs.put(job.id(), job);
+        try {
+            executor.execute(() -> run(job, spooled));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id());
+            Files.deleteIfExists(spooled);
+            throw new UploadQueueFullException(executor.getQueue().size());
+        }
+        log.info("Queued upload job {} for {}", job.id(), file.getOriginalFilename());
+        return job.snapshot();
+    }
+
+    public UploadProgress progress(String jobId) {
+        return job(jobId).snapshot();
+    }
+
+    /**
+     * Sends a {@code progress} event whenever the job advances, and completes
+     * once it is done or has failed.
+     */
+    public SseEmitter follow(String jobId) {
+        UploadJob job = job(jobId);
+        SseEmitter emitter = new SseEmitter();
+        Follower follower = new Follower(job, emitter);
+        long interval = properties.getUpload().getProgressInterval().toMillis();
+        follower.future = progressSender.scheduleWithFixedDelay(follower, 0, interval, TimeUnit.MILLISECONDS);
+        emitter.onCompletion(follower::cancel);
+        emitter.onTimeout(follower::cancel);
+        emitter.onError(e -> follower.cancel());
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        progressSender.shutdownNow();
+    }
+
+    private UploadJob job(String jobId) {
+        UploadJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new UploadJobNotFoundException(jobId);
+        }
+        return job;
+    }
+
+    private void run(UploadJob job, Path spooled) {
+        try {
+            DatabaseSession session;
+            try (AdmissionControl.Permit permit = admissionControl.await(AdmissionControl.Resource.EXTRACTION)) {
+                job.extracting();
+                session = rocksDBService.openDatabase(spooled, job);
+            }
+            job.scanning(session.getId());
+            try (AdmissionControl.Permit permit = admissionControl.await(AdmissionControl.Resource.SCAN)) {
+                countKeys(session, job);
+            }
+            job.done();
+            log.info("Upload job {} opened database {}", job.id(), session.getId());
+        } catch (Exception e) {
+            log.warn("Upload job {} failed", job.id(), e);
+            job.failed(e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(spooled);
+            } catch (IOException e) {
+                log.warn("Failed to delete spooled upload {}", spooled, e);
+            }
+        }
+    }
+
+    /**
+     * Counts the keys of every column family with bulk scans, so the client
+     * gets exact totals without the entries themselves.
+     */
+    private void countKeys(DatabaseSession session, UploadJob job) throws RocksDBException {
+        long keys = 0;
+        try (PipelineMetrics.Scan recorder = metrics.scan("count-keys")) {
+            try (DatabaseSession.Lease lease = session.acquire()) {
+                for (String name : session.getColumnFamilyNames()) {
+                    try (RangeScan scan = RangeScan.openBulk(lease.db(), lease.columnFamily(name), KeyRange.ALL,
+                            properties.getScan().getReadaheadSize().toBytes())) {
+                        RocksIterator iter = scan.iterator();
+                        for (scan.seekToStart(); iter.isValid(); iter.next()) {
+                            if (++keys % PROGRESS_EVERY_KEYS == 0) {
+                                job.keysScanned(keys);
+                            }
+                        }
+                        iter.status();
+                    }
+                }
+            } catch (RocksDBException | RuntimeException e) {
+                recorder.error(e);
+                throw e;
+            } finally {
+                // Entries are only counted; neither keys nor values are read
+                recorder.add(keys, 0);
+            }
+        }
+        job.keysScanned(keys);
+    }
+
+    private void purgeFinished() {
+        Instant cutoff = Instant.now().minus(properties.getUpload().getJobRetention());
+        jobs.values().removeIf(job -> job.finishedAt() != null && job.finishedAt().isBefore(cutoff));
+    }
+
+    private static final class Follower implements Runnable {
+        private final UploadJob job;
+        private final SseEmitter emitter;
+        private UploadProgress last;
+        private boolean finished;
+        private volatile ScheduledFuture<?> future;
+
+        private Follower(UploadJob job, SseEmitter emitter) {
+            this.job = job;
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void run() {
+            if (finished) {
+                cancel();
+                return;
+            }
+            UploadProgress progress = job.snapshot();
+            try {
+                if (!progress.equals(last)) {
+                    emitter.send(SseEmitter.event()
+                        .name("progress")
+                        .data(progress));
+                    last = progress;
+                }
+                if (progress.state().isFinished()) {
+                    finished = true;
+                    cancel();
+                    emitter.complete();
+                }
+            } catch (IOException e) {
+                // The client went away
+                finished = true;
+                cancel();
+            }
+        }
+
+        private void cancel() {
+            ScheduledFuture<?> scheduled = future;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package dev.rocksdb.explorer.service;
+
+public class UploadQueueFullException extends RuntimeException {
+
+    public UploadQueueFullException(int queued) {
+        super("Too many upload jobs waiting (" + queued + "); try again later");
+    }
+}
@@ -0,0 +1,103 @@
+package dev.rocksdb.explorer.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.regex.Pattern;
+
+import org.rocksdb.RocksDBException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+import dev.rocksdb.explorer.decoder.ValueDecoders;
+import dev.rocksdb.explorer.model.EntryPreview;
+import dev.rocksdb.explorer.model.SearchResult;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Full-scan search over values, scanned concurrently in shards by
+ * {@link ShardedScan}. Values are matched on their raw bytes where possible,
+ * and only the keys of matches are read.
+ */
+@Service
+@RequiredArgsConstructor
+public class ValueSearchService {
+    private static final Logger log = LoggerFactory.getLogger(ValueSearchService.class);
+    public static final int MAX_HITS = 1000;
+
+    private final DatabaseSessionRegistry sessionRegistry;
+    private final ExecutorService scanExecutor;
+    private final ExplorerProperties properties;
+    private final ValueDecoders valueDecoders;
+    private final PipelineMetrics metrics;
+
+    /**
+     * Returns the first {@code limit} entries of {@code range} in the given
+     * column family ({@code null} for the default one), in key order,
+     * whose value contains {@code query} (or matches it, if {@code regex}).
+     * Shards after the one that completes the limit are cancelled. Matches
+     * carry a preview of their value, like entry pages.
+     */
+    public SearchResult search(String databaseId, String columnFamily, KeyRange range, String query, boolean regex,
+            int limit) throws RocksDBException {
+        if (limit < 1 || limit > MAX_HITS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_HITS);
+        }
+        if (query == null || query.isEmpty()) {
+            throw new IllegalArgumentException("query must not be empty");
+        }
+        ValueMatcher matcher = regex ? new RegexMatcher(Pattern.compile(query)) : new SubstringMatcher(query);
+        if (range.isEmpty()) {
+            return new SearchResult(List.of(), false, 0);
+        }
+
+        try (PipelineMetrics.Scan recorder = metrics.scan("search")) {
+            try (DatabaseSession.Lease lease = sessionRegistry.acquire(databaseId)) {
+                ShardedScan.Result<EntryPreview> result = ShardedScan.run(lease.db(), lease.columnFamily(columnFamily),
+                    range, limit, scanExecutor, properties.getScan(), recorder, () -> (iter, buffers, value) -> {
+                        int length = value.remaining();
+                        if (!matcher.matches(buffers)) {
+                            return null;
+                        }
+                        buffers.readKey(iter);
+                        return valueDecoders.preview(buffers.keyBytes(),
+                            buffers.valueHead(valueDecoders.previewSize()), length);
+                    });
+                log.debug("Searched {} shards of database {}", result.shards(), databaseId);
+                return new SearchResult(result.matches(), result.more(), result.shards());
+            } catch (RocksDBException | RuntimeException e) {
+                recorder.error(e);
+                throw e;
+            }
+        }
+    }
+
+    private interface ValueMatcher {
+        boolean matches(IteratorBuffers buffers);
+    }
+
+    /**
+     * Matches on the raw UTF-8 bytes, so values that do not match are never
+     * decoded. Byte-wise search is exact for UTF-8 because no encoded
+     * character is a substring of another.
+     */
+    private record SubstringMatcher(byte[] needle) implements ValueMatcher {
+        SubstringMatcher(String query) {
+            this(query.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public boolean matches(IteratorBuffers buffers) {
+            return buffers.valueContains(needle);
+        }
+    }
+
+    private record RegexMatcher(Pattern pattern) implements ValueMatcher {
+        @Override
+        public boolean matches(IteratorBuffers buffers) {
+            return pattern.matcher(buffers.valueString()).find();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package dev.rocksdb.explorer.service;
+
+import java.util.Arrays;
+
+/**
+ * Quantiles of value sizes in bounded memory. Sizes are counted in
+ * logarithmic buckets that are {@value #GAMMA} times wider than the previous
+ * one, so any quantile is reported within about 2% of the true size and the
+ * sketch never holds more than a few hundred counters, however many values
+ * it has seen.
+ */
+final class ValueSizeSketch {
+    private static final double GAMMA = 1.04;
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    // counts[0] holds empty values, counts[k + 1] sizes in (GAMMA^(k-1), GAMMA^k]
+    private long[] counts = new long[16];
+    private long total;
+    private long max;
+
+    void add(long size) {
+        int index = size == 0 ? 0 : 1 + (int) Math.ceil(Math.log(size) / LOG_GAMMA);
+        if (index >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(index + 1, counts.length * 2));
+        }
+        counts[index]++;
+        total++;
+        max = Math.max(max, size);
+    }
+
+    /**
+     * Returns the estimated size at quantile {@code q} (0 to 1), or 0 if no
+     * values were added.
+     */
+    long quantile(double q) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(q * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(rank, 1)) {
+                if (i == 0) {
+                    return 0;
+                }
+                // Midpoint of the bucket in relative terms, capped at the largest size seen
+                double estimate = 2 * Math.pow(GAMMA, i - 1) / (GAMMA + 1);
+                return Math.min(Math.round(estimate), max);
+            }
+        }
+        return max;
+    }
+
+    long max() {
+        return max;
+    }
+}
@@ -0,0 +1,56 @@
+package dev.rocksdb.explorer.controller;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.JsonPath;
+
+import dev.rocksdb.explorer.util.TestUtils;
+
+@SpringBootTest(properties = "explorer.admission.max-scans=0")
+@AutoConfigureMockMvc
+class AdmissionControlIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldRejectScansWithoutFreeSlotButServePages() throws Exception {
+        // Given
+        MockMultipartFile file = new MockMultipartFile(
+            "file",
+            "test-rocksdb-small.zip",
+            "application/zip",
+            Files.readAllBytes(TestUtils.createTestDatabase(tempDir))
+        );
+        MvcResult result = mockMvc.perform(multipart("/api/databases").file(file))
+            .andExpect(status().isCreated())
+            .andReturn();
+        String id = JsonPath.read(result.getResponse().getContentAsString(), "$.id");
+
+        // When/Then
+        mockMvc.perform(get("/api/databases/{id}/search", id).param("q", "dark"))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().string("Retry-After", "1"));
+        mockMvc.perform(get("/api/databases/{id}/dump", id))
+            .andExpect(status().isTooManyRequests());
+        mockMvc.perform(get("/api/databases/{id}/entries", id))
+            .andExpect(status().isOk());
+    }
+}
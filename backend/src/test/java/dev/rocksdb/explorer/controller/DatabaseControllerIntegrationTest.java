@@ -0,0 +1,272 @@
+package dev.rocksdb.explorer.controller;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.rocksdb.explorer.model.LocalDatabaseRequest;
+import dev.rocksdb.explorer.service.AdmissionControl;
+import dev.rocksdb.explorer.util.TestUtils;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class DatabaseControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AdmissionControl admissionControl;
+
+    @TempDir
+    Path tempDir;
+
+    private String databaseId;
+
+    @BeforeEach
+    void openDatabase() throws Exception {
+        Path testDbPath = TestUtils.createTestDatabase(tempDir);
+        MockMultipartFile file = new MockMultipartFile(
+            "file",
+            "test-rocksdb-small.zip",
+            "application/zip",
+            Files.readAllBytes(testDbPath)
+        );
+
+        MvcResult result = mockMvc.perform(multipart("/api/databases").file(file))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.id").exists())
+            .andReturn();
+        databaseId = objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asText();
+    }
+
+    @Test
+    void shouldOpenDatabaseFromRawRequestBody() throws Exception {
+        byte[] archive = Files.readAllBytes(TestUtils.createTestDatabase(tempDir.resolve("raw")));
+
+        mockMvc.perform(post("/api/databases").contentType("application/zip").content(archive))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.id").exists());
+    }
+
+    @Test
+    void shouldRejectLocalPathWhenNoRootIsAllowed() throws Exception {
+        TestUtils.createTestDatabase(tempDir.resolve("local"));
+
+        mockMvc.perform(post("/api/databases/local")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(
+                    new LocalDatabaseRequest(tempDir.resolve("local").toString(), false))))
+            .andExpect(status().isBadRequest())
+            .andExpect(content().string(containsString("allowed root")));
+    }
+
+    @Test
+    void shouldRejectTailOfUploadedDatabase() throws Exception {
+        mockMvc.perform(get("/api/databases/{id}/tail", databaseId))
+            .andExpect(status().isBadRequest())
+            .andExpect(content().string(containsString("secondary")));
+    }
+
+    @Test
+    void shouldBrowseNamedColumnFamily() throws Exception {
+        MockMultipartFile file = new MockMultipartFile(
+            "file",
+            "test-rocksdb-cf.zip",
+            "application/zip",
+            Files.readAllBytes(TestUtils.createColumnFamilyTestDatabase(tempDir.resolve("cf")))
+        );
+        MvcResult result = mockMvc.perform(multipart("/api/databases").file(file))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.columnFamilies[1]").value("users"))
+            .andReturn();
+        String id = objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asText();
+
+        mockMvc.perform(get("/api/databases/{id}/column-families", id))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$[2].name").value("metrics"));
+
+        mockMvc.perform(get("/api/databases/{id}/column-families/{cf}/entries", id, "metrics")
+                .param("prefix", "cpu:")
+                .param("limit", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.entries.length()").value(2))
+            .andExpect(jsonPath("$.entries[0].key").value("cpu:000001"))
+            .andExpect(jsonPath("$.nextAfter").value("cpu:000002"));
+
+        mockMvc.perform(get("/api/databases/{id}/column-families/{cf}/entries", id, "missing"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReportSharedBlockCacheUsage() throws Exception {
+        mockMvc.perform(get("/api/databases/{id}/entries", databaseId))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/block-cache"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.type").value("LRU"))
+            .andExpect(jsonPath("$.capacity", greaterThan(0)))
+            .andExpect(jsonPath("$.hitRate").isNumber());
+    }
+
+    @Test
+    void shouldServeEntriesPageByPage() throws Exception {
+        mockMvc.perform(get("/api/databases/{id}/entries", databaseId).param("limit", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.entries.length()").value(1))
+            .andExpect(jsonPath("$.entries[0].key").value("user:000001"))
+            .andExpect(jsonPath("$.entries[0].truncated").value(true))
+            .andExpect(jsonPath("$.entries[0].length", greaterThan(256)))
+            .andExpect(jsonPath("$.nextAfter").value("user:000001"));
+
+        mockMvc.perform(get("/api/databases/{id}/entries", databaseId)
+                .param("after", "user:000001")
+                .param("limit", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.entries[0].key").value("user:000001.profile.preferences"))
+            .andExpect(jsonPath("$.nextAfter").doesNotExist());
+    }
+
+    @Test
+    void shouldLookUpKeysDirectly() throws Exception {
+        mockMvc.perform(get("/api/databases/{id}/entry", databaseId).param("key", "user:000001.profile.preferences"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.key").value("user:000001.profile.preferences"))
+            .andExpect(jsonPath("$.decoder").value("utf8"))
+            .andExpect(jsonPath("$.value", containsString("\"theme\": \"dark\"")));
+
+        mockMvc.perform(get("/api/databases/{id}/entry", databaseId).param("key", "user:000002"))
+            .andExpect(status().isNotFound());
+
+        mockMvc.perform(post("/api/databases/{id}/entries:batchGet", databaseId)
+                .contentType("application/json")
+                .content("{\"keys\": [\"user:000002\", \"user:000001\"]}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.entries.length()").value(1))
+            .andExpect(jsonPath("$.entries[0].key").value("user:000001"))
+            .andExpect(jsonPath("$.missing[0]").value("user:000002"));
+    }
+
+    @Test
+    void shouldLookUpKeysContainingSlashes() throws Exception {
+        // Given
+        Path archive = TestUtils.createTestDatabase(tempDir.resolve("slashes"),
+            Map.of("config/app/name", "explorer", "config/app", "parent"));
+        MvcResult opened = mockMvc.perform(post("/api/databases").contentType("application/zip")
+                .content(Files.readAllBytes(archive)))
+            .andExpect(status().isCreated())
+            .andReturn();
+        String id = objectMapper.readTree(opened.getResponse().getContentAsString()).get("id").asText();
+
+        // When / Then
+        mockMvc.perform(get("/api/databases/{id}/entry", id).param("key", "config/app/name"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.key").value("config/app/name"))
+            .andExpect(jsonPath("$.value").value("explorer"));
+        mockMvc.perform(get("/api/databases/{id}/entry", id).param("key", "config/app/missing"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldStreamDumpAsNdjson() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/databases/{id}/dump", databaseId).param("format", "ndjson"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/x-ndjson"))
+            .andExpect(content().string(containsString("\"key\":\"user:000001\"")));
+    }
+
+    @Test
+    void shouldReturnScanSlotOnceDumpIsWritten() throws Exception {
+        // Given
+        int free = admissionControl.available(AdmissionControl.Resource.SCAN);
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/databases/{id}/dump", databaseId))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk());
+
+        // Then
+        assertEquals(free, admissionControl.available(AdmissionControl.Resource.SCAN));
+    }
+
+    @Test
+    void shouldExportGzippedCsv() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/databases/{id}/export", databaseId)
+                .param("format", "csv")
+                .param("compression", "gzip"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/gzip"))
+            .andExpect(header().string("Content-Disposition", containsString(databaseId + ".csv.gz")))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            String csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(csv.startsWith("key,value\r\nuser:000001,"));
+        }
+    }
+
+    @Test
+    void shouldRejectUnknownDumpFormat() throws Exception {
+        mockMvc.perform(get("/api/databases/{id}/dump", databaseId).param("format", "xml"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldRejectInvalidPageSize() throws Exception {
+        mockMvc.perform(get("/api/databases/{id}/entries", databaseId).param("limit", "0"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldForgetClosedDatabases() throws Exception {
+        mockMvc.perform(delete("/api/databases/{id}", databaseId))
+            .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/databases/{id}/entries", databaseId))
+            .andExpect(status().isNotFound());
+    }
+}
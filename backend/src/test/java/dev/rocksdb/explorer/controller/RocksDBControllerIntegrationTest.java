@@ -15,12 +15,16 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.hamcrest.Matchers.containsString;
 import org.junit.jupiter.api.io.TempDir;
+import com.jayway.jsonpath.JsonPath;
 import dev.rocksdb.explorer.util.TestUtils;
 
 @SpringBootTest
@@ -49,7 +53,40 @@ class RocksDBControllerIntegrationTest {
             .andExpect(status().isOk())
             .andExpect(content().contentType("application/json"))
             .andExpect(jsonPath("$.['user:000001']").exists())
-            .andExpect(jsonPath("$.['user:000001.profile.preferences']").exists());
+            .andExpect(jsonPath("$.['user:000001.profile.preferences']").exists())
+            .andExpect(header().exists(FileUploadController.DATABASE_ID_HEADER));
+    }
+
+    @Test
+    void shouldOpenUploadInBackgroundJob() throws Exception {
+        // Given
+        MockMultipartFile file = new MockMultipartFile(
+            "file",
+            "test-rocksdb-small.zip",
+            "application/zip",
+            Files.readAllBytes(TestUtils.createTestDatabase(tempDir))
+        );
+
+        // When
+        MvcResult submitted = mockMvc.perform(multipart("/api/upload/jobs").file(file))
+            .andExpect(status().isAccepted())
+            .andExpect(header().exists("Location"))
+            .andReturn();
+        String jobId = JsonPath.read(submitted.getResponse().getContentAsString(), "$.jobId");
+
+        String state = "QUEUED";
+        for (int i = 0; i < 500 && !state.equals("DONE") && !state.equals("FAILED"); i++) {
+            Thread.sleep(20);
+            state = JsonPath.read(mockMvc.perform(get("/api/upload/jobs/{jobId}", jobId))
+                .andReturn().getResponse().getContentAsString(), "$.state");
+        }
+
+        // Then
+        mockMvc.perform(get("/api/upload/jobs/{jobId}", jobId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.state").value("DONE"))
+            .andExpect(jsonPath("$.keysScanned").value(2))
+            .andExpect(jsonPath("$.databaseId").exists());
     }
 
     @Test
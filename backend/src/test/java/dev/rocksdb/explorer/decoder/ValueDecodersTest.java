@@ -0,0 +1,113 @@
+package dev.rocksdb.explorer.decoder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+import dev.rocksdb.explorer.model.DecodedValue;
+import dev.rocksdb.explorer.model.EntryPreview;
+import dev.rocksdb.explorer.util.TestUtils;
+
+class ValueDecodersTest {
+
+    private final ExplorerProperties properties = new ExplorerProperties();
+
+    @Test
+    void shouldPickDecoderByLongestKeyPrefix() {
+        // Given
+        properties.getValues().getDecoders().put("counter:", "varint");
+        properties.getValues().getDecoders().put("counter:blob:", "base64");
+        ValueDecoders decoders = TestUtils.newValueDecoders(properties);
+
+        // When/Then
+        assertEquals("varint", decoders.forKey(bytes("counter:1")).name());
+        assertEquals("base64", decoders.forKey(bytes("counter:blob:1")).name());
+        assertEquals("utf8", decoders.forKey(bytes("user:1")).name());
+    }
+
+    @Test
+    void shouldFallBackToHexForValuesTheDecoderRejects() {
+        // Given
+        ValueDecoders decoders = TestUtils.newValueDecoders(properties);
+        byte[] binary = {(byte) 0xff, 0x00, 0x10};
+
+        // When
+        EntryPreview preview = decoders.preview(bytes("k"), ByteBuffer.wrap(binary), binary.length);
+        DecodedValue value = decoders.decode(bytes("k"), binary, null);
+
+        // Then
+        assertEquals("hex", preview.decoder());
+        assertEquals("ff0010", preview.preview());
+        assertFalse(preview.truncated());
+        assertEquals("ff0010", value.value());
+        assertThrows(IllegalArgumentException.class, () -> decoders.decode(bytes("k"), binary, "utf8"));
+    }
+
+    @Test
+    void shouldNotCutMultiByteCharactersInPreviews() {
+        // Given
+        ValueDecoders decoders = TestUtils.newValueDecoders(properties);
+        byte[] value = "aé".getBytes(StandardCharsets.UTF_8);
+
+        // When
+        EntryPreview preview = decoders.preview(bytes("k"), ByteBuffer.wrap(value, 0, 2), value.length);
+
+        // Then
+        assertTrue(preview.truncated());
+        assertEquals("utf8", preview.decoder());
+        assertEquals("a", preview.preview());
+        assertEquals(3, preview.length());
+    }
+
+    @Test
+    void shouldDecodeVarints() {
+        // Given
+        ValueDecoder varint = new VarintValueDecoder();
+
+        // When/Then
+        assertEquals("1 300 18446744073709551615", varint.decode(ByteBuffer.wrap(new byte[] {
+            0x01, (byte) 0xac, 0x02,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, 0x01})));
+        assertEquals("1", varint.preview(ByteBuffer.wrap(new byte[] {0x01, (byte) 0xac}), 256));
+        assertThrows(IllegalArgumentException.class,
+            () -> varint.decode(ByteBuffer.wrap(new byte[] {0x01, (byte) 0xac})));
+    }
+
+    @Test
+    void shouldInflateGzipAndPreviewFromTheHeadOnly() throws Exception {
+        // Given
+        ValueDecoder gzip = new GzipValueDecoder(properties);
+        String text = "payload ".repeat(1000);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        byte[] value = compressed.toByteArray();
+
+        // When/Then
+        assertEquals(text, gzip.decode(ByteBuffer.wrap(value)));
+        assertEquals(text.substring(0, 64), gzip.preview(ByteBuffer.wrap(value, 0, value.length - 10), 64));
+        assertThrows(IllegalArgumentException.class, () -> gzip.decode(ByteBuffer.wrap(bytes("plain"))));
+    }
+
+    @Test
+    void shouldRejectUnknownDecoderInConfiguration() {
+        // Given
+        properties.getValues().getDecoders().put("user:", "protobuf");
+
+        // When/Then
+        assertThrows(IllegalArgumentException.class, () -> TestUtils.newValueDecoders(properties));
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,37 @@
+package dev.rocksdb.explorer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+
+class AdmissionControlTest {
+
+    private final ExplorerProperties properties = new ExplorerProperties();
+
+    @Test
+    void shouldRejectOnceAllSlotsAreTaken() {
+        // Given
+        properties.getAdmission().setMaxScans(2);
+        AdmissionControl admissionControl = new AdmissionControl(properties);
+
+        // When
+        AdmissionControl.Permit first = admissionControl.admit(AdmissionControl.Resource.SCAN);
+        AdmissionControl.Permit second = admissionControl.admit(AdmissionControl.Resource.SCAN);
+
+        // Then
+        assertThrows(AdmissionRejectedException.class, () -> admissionControl.admit(AdmissionControl.Resource.SCAN));
+        assertEquals(properties.getAdmission().getMaxExtractions(),
+            admissionControl.available(AdmissionControl.Resource.EXTRACTION));
+
+        // When
+        first.close();
+        first.close();
+
+        // Then
+        assertEquals(1, admissionControl.available(AdmissionControl.Resource.SCAN));
+        second.close();
+        assertEquals(2, admissionControl.available(AdmissionControl.Resource.SCAN));
+    }
+}
@@ -0,0 +1,194 @@
+package dev.rocksdb.explorer.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+import dev.rocksdb.explorer.util.TestUtils;
+
+class ArchiveExtractorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ExplorerProperties properties = new ExplorerProperties();
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final ArchiveExtractor extractor = new ArchiveExtractor(properties, executor);
+
+    @AfterEach
+    void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldDetectDatabaseDirectoryWhileExtracting() throws Exception {
+        // Given
+        Path archive = TestUtils.createTestDatabase(tempDir);
+        Path target = Files.createDirectory(tempDir.resolve("out"));
+
+        // When
+        ExtractedArchive extracted;
+        try (InputStream in = Files.newInputStream(archive)) {
+            extracted = extractor.extract(in, target);
+        }
+
+        // Then
+        assertEquals(target.toAbsolutePath().resolve("test-db"), extracted.dbDirectory());
+        assertTrue(Files.exists(extracted.dbDirectory().resolve("CURRENT")));
+    }
+
+    @Test
+    void shouldDigestWholeArchiveWhileExtracting() throws Exception {
+        // Given
+        Path archive = TestUtils.createTestDatabase(tempDir);
+        Path target = Files.createDirectory(tempDir.resolve("out"));
+
+        // When
+        ExtractedArchive extracted;
+        try (InputStream in = Files.newInputStream(archive)) {
+            extracted = extractor.extract(in, target);
+        }
+
+        // Then
+        try (InputStream in = Files.newInputStream(archive)) {
+            assertEquals(ArchiveExtractor.digest(in), extracted.digest());
+        }
+        assertTrue(extracted.size() > 0);
+    }
+
+    @Test
+    void shouldReturnNoDatabaseDirectoryWithoutDatabaseFiles() throws Exception {
+        // Given
+        byte[] archive = zip("invalid/data.txt", "not a rocksdb file");
+
+        // When/Then
+        assertNull(extractor.extract(new ByteArrayInputStream(archive), tempDir).dbDirectory());
+    }
+
+    @Test
+    void shouldRejectEntriesOutsideTargetDirectory() throws Exception {
+        // Given
+        byte[] archive = zip("../escaped/CURRENT", "MANIFEST-000001");
+        Path target = Files.createDirectory(tempDir.resolve("out"));
+
+        // When/Then
+        assertThrows(IOException.class, () -> extractor.extract(new ByteArrayInputStream(archive), target));
+        assertFalse(Files.exists(tempDir.resolve("escaped")));
+    }
+
+    @Test
+    void shouldRejectArchivesOverUploadLimit() throws Exception {
+        // Given
+        properties.getUpload().setMaxSize(DataSize.ofBytes(64));
+        byte[] archive = zip("db/CURRENT", "x".repeat(1000));
+
+        // When/Then
+        assertThrows(ArchiveTooLargeException.class,
+            () -> extractor.extract(new ByteArrayInputStream(archive), tempDir));
+    }
+
+    @Test
+    void shouldRejectContentsOverDiskBudget() throws Exception {
+        // Given
+        properties.getSession().setMaxDiskUsage(DataSize.ofBytes(100));
+        byte[] archive = zip("db/CURRENT", "x".repeat(1000));
+
+        // When/Then
+        assertThrows(ArchiveTooLargeException.class,
+            () -> extractor.extract(new ByteArrayInputStream(archive), tempDir));
+    }
+
+    @Test
+    void shouldExtractArchiveFileInParallel() throws Exception {
+        // Given
+        Path archive = TestUtils.createShardedTestDatabase(tempDir, 1000, 8);
+        String digest;
+        try (InputStream in = Files.newInputStream(archive)) {
+            digest = ArchiveExtractor.digest(in);
+        }
+        Path streamed = Files.createDirectory(tempDir.resolve("streamed"));
+        Path parallel = Files.createDirectory(tempDir.resolve("parallel"));
+
+        // When
+        ExtractedArchive expected;
+        try (InputStream in = Files.newInputStream(archive)) {
+            expected = extractor.extract(in, streamed);
+        }
+        ExtractedArchive extracted = extractor.extract(archive, digest, parallel, ArchiveExtractor.Listener.NONE);
+
+        // Then
+        assertEquals(parallel.toAbsolutePath().resolve(streamed.toAbsolutePath().relativize(expected.dbDirectory())),
+            extracted.dbDirectory());
+        assertEquals(expected.digest(), extracted.digest());
+        assertEquals(expected.size(), extracted.size());
+        for (Path file : files(expected.dbDirectory())) {
+            assertEquals(-1, Files.mismatch(file, extracted.dbDirectory().resolve(file.getFileName())), file.toString());
+        }
+    }
+
+    @Test
+    void shouldRejectArchiveFileWithEntriesOutsideTargetBeforeWriting() throws Exception {
+        // Given
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(bytes)) {
+            zos.putNextEntry(new ZipEntry("db/CURRENT"));
+            zos.write("MANIFEST-000001".getBytes());
+            zos.putNextEntry(new ZipEntry("../escaped/OPTIONS-000001"));
+            zos.write("x".getBytes());
+        }
+        Path archive = Files.write(tempDir.resolve("archive.zip"), bytes.toByteArray());
+        Path target = Files.createDirectory(tempDir.resolve("out"));
+
+        // When/Then
+        assertThrows(IOException.class,
+            () -> extractor.extract(archive, "digest", target, ArchiveExtractor.Listener.NONE));
+        assertFalse(Files.exists(target.resolve("db")));
+        assertFalse(Files.exists(tempDir.resolve("escaped")));
+    }
+
+    @Test
+    void shouldRejectArchiveFileContentsOverDiskBudget() throws Exception {
+        // Given
+        properties.getSession().setMaxDiskUsage(DataSize.ofBytes(100));
+        Path archive = Files.write(tempDir.resolve("archive.zip"), zip("db/CURRENT", "x".repeat(1000)));
+
+        // When/Then
+        assertThrows(ArchiveTooLargeException.class,
+            () -> extractor.extract(archive, "digest", tempDir.resolve("out"), ArchiveExtractor.Listener.NONE));
+    }
+
+    private static List<Path> files(Path directory) throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.filter(Files::isRegularFile).toList();
+        }
+    }
+
+    private static byte[] zip(String name, String content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(bytes)) {
+            zos.putNextEntry(new ZipEntry(name));
+            zos.write(content.getBytes());
+            zos.closeEntry();
+        }
+        return bytes.toByteArray();
+    }
+}
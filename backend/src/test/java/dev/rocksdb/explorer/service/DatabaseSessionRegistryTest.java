@@ -0,0 +1,97 @@
+package dev.rocksdb.explorer.service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+import dev.rocksdb.explorer.util.TestUtils;
+
+class DatabaseSessionRegistryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DatabaseSessionRegistry registry;
+
+    @AfterEach
+    void closeDatabases() {
+        registry.closeAll();
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedDatabase() throws Exception {
+        // Given
+        ExplorerProperties properties = new ExplorerProperties();
+        properties.getSession().setMaxOpen(2);
+        registry = new DatabaseSessionRegistry(properties);
+        RocksDBService service = TestUtils.newRocksDBService(registry, properties, tempDir);
+
+        DatabaseSession first = service.openDatabase(upload());
+        DatabaseSession second = service.openDatabase(upload());
+        registry.acquire(first.getId()).close();
+
+        // When
+        DatabaseSession third = service.openDatabase(upload());
+
+        // Then
+        assertEquals(2, registry.list().size());
+        assertThrows(DatabaseNotFoundException.class, () -> registry.get(second.getId()));
+        assertFalse(first.isClosed());
+        assertTrue(second.isClosed());
+        registry.get(third.getId());
+    }
+
+    @Test
+    void shouldCloseIdleDatabases() throws Exception {
+        // Given
+        ExplorerProperties properties = new ExplorerProperties();
+        properties.getSession().setIdleTimeout(Duration.ZERO);
+        registry = new DatabaseSessionRegistry(properties);
+        DatabaseSession session = TestUtils.newRocksDBService(registry, properties, tempDir).openDatabase(upload());
+
+        // When
+        registry.evict();
+
+        // Then
+        assertTrue(registry.list().isEmpty());
+        assertTrue(session.isClosed());
+    }
+
+    @Test
+    void shouldDeferCloseUntilReadersFinish() throws Exception {
+        // Given
+        ExplorerProperties properties = new ExplorerProperties();
+        registry = new DatabaseSessionRegistry(properties);
+        DatabaseSession session = TestUtils.newRocksDBService(registry, properties, tempDir).openDatabase(upload());
+        DatabaseSession.Lease lease = registry.acquire(session.getId());
+
+        // When
+        registry.close(session.getId());
+
+        // Then
+        assertFalse(session.isClosed());
+        lease.db().get("user:000001".getBytes());
+        lease.close();
+        assertTrue(session.isClosed());
+    }
+
+    private MockMultipartFile upload() throws Exception {
+        Path testDbPath = TestUtils.createTestDatabase(Files.createTempDirectory(tempDir, "db"));
+        return new MockMultipartFile(
+            "file",
+            "test-rocksdb-small.zip",
+            "application/zip",
+            Files.readAllBytes(testDbPath)
+        );
+    }
+}
@@ -0,0 +1,78 @@
+package dev.rocksdb.explorer.service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+import dev.rocksdb.explorer.model.DatabaseStats;
+import dev.rocksdb.explorer.model.LevelStats;
+import dev.rocksdb.explorer.util.TestUtils;
+
+class DatabaseStatsServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ExplorerProperties properties = new ExplorerProperties();
+    private final DatabaseSessionRegistry registry = new DatabaseSessionRegistry(properties);
+    private final DatabaseStatsService service = new DatabaseStatsService(registry);
+
+    private String databaseId;
+
+    @BeforeEach
+    void openDatabase() throws Exception {
+        Path testDbPath = TestUtils.createShardedTestDatabase(tempDir, 1000, 8);
+        databaseId = TestUtils.newRocksDBService(registry, properties, tempDir).openDatabase(new MockMultipartFile(
+            "file",
+            "test-rocksdb-sharded.zip",
+            "application/zip",
+            Files.readAllBytes(testDbPath)
+        )).getId();
+    }
+
+    @AfterEach
+    void closeDatabase() {
+        registry.closeAll();
+    }
+
+    @Test
+    void shouldSummarizeFilesFromMetadata() throws Exception {
+        // When
+        DatabaseStats stats = service.stats(databaseId, null, KeyRange.ALL);
+
+        // Then
+        assertEquals("default", stats.columnFamily());
+        assertEquals(1000, stats.estimatedKeys());
+        assertNull(stats.rangeApproximateSize());
+        assertEquals(1, stats.levels().size());
+        LevelStats level0 = stats.levels().get(0);
+        assertEquals(0, level0.level());
+        assertTrue(level0.files() >= 8);
+        assertEquals(1000, level0.entries());
+        assertEquals("key:000001", level0.smallestKey());
+        assertEquals("key:001000", level0.largestKey());
+        assertEquals(stats.sstFilesSize(), level0.size());
+        // Raw key sizes count internal keys: the user key and an 8-byte sequence number and type
+        assertEquals(1000L * ("key:000001".length() + 8), stats.tables().rawKeySize());
+    }
+
+    @Test
+    void shouldApproximateSizeOfKeyRange() throws Exception {
+        // When
+        DatabaseStats all = service.stats(databaseId, null, KeyRange.of("key:", null, null));
+        DatabaseStats part = service.stats(databaseId, null, KeyRange.of(null, null, "key:000200"));
+
+        // Then
+        assertTrue(all.rangeApproximateSize() > 0);
+        assertTrue(part.rangeApproximateSize() < all.rangeApproximateSize());
+    }
+}
@@ -0,0 +1,283 @@
+package dev.rocksdb.explorer.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.github.luben.zstd.ZstdInputStream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+import dev.rocksdb.explorer.model.BatchGetResult;
+import dev.rocksdb.explorer.model.ColumnFamilyInfo;
+import dev.rocksdb.explorer.model.DecodedValue;
+import dev.rocksdb.explorer.model.EntryFormat;
+import dev.rocksdb.explorer.model.EntryPage;
+import dev.rocksdb.explorer.model.EntryPreview;
+import dev.rocksdb.explorer.model.ExportCompression;
+import dev.rocksdb.explorer.util.TestUtils;
+
+class EntryQueryServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ExplorerProperties properties = new ExplorerProperties();
+    private final DatabaseSessionRegistry registry = new DatabaseSessionRegistry(properties);
+    private final EntryQueryService service = new EntryQueryService(registry, properties,
+        TestUtils.newValueDecoders(properties), TestUtils.newPipelineMetrics());
+
+    private String databaseId;
+
+    @BeforeEach
+    void openDatabase() throws Exception {
+        Path testDbPath = TestUtils.createTestDatabase(tempDir);
+        databaseId = TestUtils.newRocksDBService(registry, properties, tempDir).openDatabase(new MockMultipartFile(
+            "file",
+            "test-rocksdb-small.zip",
+            "application/zip",
+            Files.readAllBytes(testDbPath)
+        )).getId();
+    }
+
+    @AfterEach
+    void closeDatabase() {
+        registry.closeAll();
+    }
+
+    @Test
+    void shouldPageThroughEntriesInKeyOrder() throws Exception {
+        // When
+        EntryPage first = service.listEntries(databaseId, null, KeyRange.ALL, null, 1);
+        EntryPage second = service.listEntries(databaseId, null, KeyRange.ALL, first.nextAfter(), 1);
+
+        // Then
+        assertEquals(1, first.entries().size());
+        assertEquals("user:000001", first.entries().get(0).key());
+        assertEquals("user:000001", first.nextAfter());
+
+        assertEquals(1, second.entries().size());
+        assertEquals("user:000001.profile.preferences", second.entries().get(0).key());
+        assertNull(second.nextAfter());
+    }
+
+    @Test
+    void shouldStartAfterKeysThatDoNotExist() throws Exception {
+        // When
+        EntryPage page = service.listEntries(databaseId, null, KeyRange.ALL, "user:000001.a", 10);
+
+        // Then
+        assertEquals(1, page.entries().size());
+        assertEquals("user:000001.profile.preferences", page.entries().get(0).key());
+    }
+
+    @Test
+    void shouldOnlyReturnKeysWithPrefix() throws Exception {
+        // When
+        EntryPage page = service.listEntries(databaseId, null, KeyRange.of("user:000001.", null, null), null, 10);
+
+        // Then
+        assertEquals(1, page.entries().size());
+        assertEquals("user:000001.profile.preferences", page.entries().get(0).key());
+        assertNull(page.nextAfter());
+    }
+
+    @Test
+    void shouldTreatUpperBoundAsExclusive() throws Exception {
+        // When
+        EntryPage page = service.listEntries(
+            databaseId, null, KeyRange.of(null, "user:", "user:000001.profile.preferences"), null, 10);
+
+        // Then
+        assertEquals(1, page.entries().size());
+        assertEquals("user:000001", page.entries().get(0).key());
+    }
+
+    @Test
+    void shouldListPreviewsAndDecodeWholeValueOnFetch() throws Exception {
+        // When
+        EntryPreview preview = service.listEntries(databaseId, null, KeyRange.ALL, null, 1).entries().get(0);
+        DecodedValue value = service.getEntry(databaseId, null, "user:000001", null).orElseThrow();
+
+        // Then
+        assertTrue(preview.truncated());
+        assertEquals("utf8", preview.decoder());
+        assertEquals(properties.getValues().getPreviewSize().toBytes(), preview.preview().length());
+        assertEquals(value.length(), preview.length());
+        assertEquals(value.value().length(), value.length());
+        assertTrue(value.value().startsWith(preview.preview()));
+    }
+
+    @Test
+    void shouldDecodeWithRequestedDecoder() throws Exception {
+        // When
+        DecodedValue value = service.getEntry(databaseId, null, "user:000001", "hex").orElseThrow();
+
+        // Then
+        assertEquals("hex", value.decoder());
+        assertEquals(2 * value.length(), value.value().length());
+        assertThrows(IllegalArgumentException.class,
+            () -> service.getEntry(databaseId, null, "user:000001", "protobuf"));
+    }
+
+    @Test
+    void shouldLookUpSingleKey() throws Exception {
+        // When/Then
+        assertEquals("user:000001", service.getEntry(databaseId, null, "user:000001", null).orElseThrow().key());
+        assertFalse(service.getEntry(databaseId, null, "user:000002", null).isPresent());
+    }
+
+    @Test
+    void shouldLookUpKeysInRequestedOrder() throws Exception {
+        // When
+        BatchGetResult result = service.getEntries(databaseId, null,
+            List.of("user:000001.profile.preferences", "user:000002", "user:000001"), null);
+
+        // Then
+        assertEquals(List.of("user:000001.profile.preferences", "user:000001"),
+            result.entries().stream().map(DecodedValue::key).toList());
+        assertEquals(List.of("user:000002"), result.missing());
+    }
+
+    @Test
+    void shouldRejectOversizedBatch() {
+        List<String> keys = Collections.nCopies(EntryQueryService.MAX_BATCH_SIZE + 1, "user:000001");
+
+        assertThrows(IllegalArgumentException.class, () -> service.getEntries(databaseId, null, keys, null));
+        assertThrows(IllegalArgumentException.class, () -> service.getEntries(databaseId, null, List.of(), null));
+    }
+
+    @Test
+    void shouldStreamAllEntriesAsJsonObject() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        service.writeEntries(databaseId, null, KeyRange.ALL, EntryFormat.JSON, out);
+
+        // Then
+        JsonNode dump = new ObjectMapper().readTree(out.toByteArray());
+        assertEquals(2, dump.size());
+        assertEquals("user:000001", dump.fieldNames().next());
+        assertEquals("dark", new ObjectMapper()
+            .readTree(dump.get("user:000001.profile.preferences").asText())
+            .get("theme").asText());
+    }
+
+    @Test
+    void shouldStreamOneEntryPerLineAsNdjson() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        service.writeEntries(databaseId, null, KeyRange.ALL, EntryFormat.NDJSON, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("user:000001", new ObjectMapper().readTree(lines[0]).get("key").asText());
+        assertEquals("user:000001.profile.preferences", new ObjectMapper().readTree(lines[1]).get("key").asText());
+    }
+
+    @Test
+    void shouldQuoteCsvFieldsWithSeparatorsAndQuotes() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        service.writeEntries(databaseId, null, KeyRange.of("user:000001.", null, null), EntryFormat.CSV, out);
+
+        // Then
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.startsWith("key,value\r\nuser:000001.profile.preferences,\"{"));
+        assertTrue(csv.contains("\"\"theme\"\": \"\"dark\"\","));
+        assertTrue(csv.endsWith("}\"\r\n"));
+    }
+
+    @Test
+    void shouldExportZstdCompressedStream() throws Exception {
+        // Given
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+        // When
+        service.writeEntries(databaseId, null, KeyRange.ALL, EntryFormat.NDJSON, plain);
+        service.exportEntries(databaseId, null, KeyRange.ALL, EntryFormat.NDJSON, ExportCompression.ZSTD, compressed);
+
+        // Then
+        try (ZstdInputStream in = new ZstdInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            assertEquals(plain.toString(StandardCharsets.UTF_8), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void shouldNotFinishCompressedExportWhenScanFails() throws Exception {
+        // Given
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+        // When
+        assertThrows(DatabaseNotFoundException.class, () -> service.exportEntries(
+            "missing", null, KeyRange.ALL, EntryFormat.NDJSON, ExportCompression.GZIP, compressed));
+
+        // Then: only the gzip header was written, without a trailer
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            assertThrows(EOFException.class, in::readAllBytes);
+        }
+    }
+
+    @Test
+    void shouldScopeQueriesToOneColumnFamily() throws Exception {
+        // Given
+        String cfDatabaseId = TestUtils.newRocksDBService(registry, properties, tempDir)
+            .openDatabase(new MockMultipartFile(
+                "file",
+                "test-rocksdb-cf.zip",
+                "application/zip",
+                Files.readAllBytes(TestUtils.createColumnFamilyTestDatabase(tempDir))
+            )).getId();
+
+        // When
+        List<ColumnFamilyInfo> columnFamilies = service.listColumnFamilies(cfDatabaseId);
+        EntryPage users = service.listEntries(cfDatabaseId, "users", KeyRange.ALL, null, 10);
+        EntryPage defaults = service.listEntries(cfDatabaseId, null, KeyRange.ALL, null, 10);
+
+        // Then
+        assertEquals(List.of("default", "users", "metrics"),
+            columnFamilies.stream().map(ColumnFamilyInfo::name).toList());
+        assertEquals(3, users.entries().size());
+        assertEquals("user:000001", users.entries().get(0).key());
+        assertEquals(1, defaults.entries().size());
+        assertEquals("meta:version", defaults.entries().get(0).key());
+        assertThrows(IllegalArgumentException.class,
+            () -> service.listEntries(cfDatabaseId, "missing", KeyRange.ALL, null, 10));
+    }
+
+    @Test
+    void shouldRejectInvalidLimit() {
+        assertThrows(IllegalArgumentException.class, () -> service.listEntries(databaseId, null, KeyRange.ALL, null, 0));
+    }
+
+    @Test
+    void shouldRejectUnknownDatabase() {
+        assertThrows(DatabaseNotFoundException.class, () -> service.listEntries("missing", null, KeyRange.ALL, null, 10));
+    }
+}
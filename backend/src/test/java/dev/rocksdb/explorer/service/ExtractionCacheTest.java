@@ -0,0 +1,72 @@
+package dev.rocksdb.explorer.service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+import dev.rocksdb.explorer.util.TestUtils;
+
+class ExtractionCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ExplorerProperties properties = new ExplorerProperties();
+    private ArchiveExtractor extractor;
+
+    @BeforeEach
+    void configureCache() {
+        properties.getCache().setDirectory(tempDir.resolve("cache"));
+        extractor = TestUtils.newArchiveExtractor(properties);
+    }
+
+    @Test
+    void shouldEvictOnlyUnpinnedEntries() throws Exception {
+        // Given
+        properties.getCache().setMaxEntries(1);
+        ExtractionCache cache = new ExtractionCache(properties);
+        ExtractionCache.Entry first = extract(cache);
+
+        // When
+        ExtractionCache.Entry second = extract(cache);
+
+        // Then
+        assertTrue(Files.exists(first.getDbPath()));
+        first.release();
+        assertFalse(Files.exists(first.getDbPath()));
+        assertNull(cache.lookup(first.getDigest()));
+        assertTrue(Files.exists(second.getDbPath()));
+    }
+
+    @Test
+    void shouldReindexEntriesOnStartup() throws Exception {
+        // Given
+        ExtractionCache.Entry entry = extract(new ExtractionCache(properties));
+        entry.release();
+        Path staging = new ExtractionCache(properties).newStagingDirectory();
+
+        // When
+        ExtractionCache.Entry reindexed = new ExtractionCache(properties).lookup(entry.getDigest());
+
+        // Then
+        assertNotNull(reindexed);
+        assertEquals(entry.getDbPath(), reindexed.getDbPath());
+        assertFalse(Files.exists(staging));
+    }
+
+    private ExtractionCache.Entry extract(ExtractionCache cache) throws Exception {
+        Path archive = TestUtils.createTestDatabase(Files.createTempDirectory(tempDir, "db"));
+        Path staging = cache.newStagingDirectory();
+        ExtractedArchive extracted = extractor.extract(Files.newInputStream(archive), staging);
+        return cache.commit(extracted.digest(), staging, extracted);
+    }
+}
@@ -0,0 +1,62 @@
+package dev.rocksdb.explorer.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksIterator;
+
+class IteratorBuffersTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldGrowBuffersForLargeEntries() throws Exception {
+        // Given
+        String largeValue = "é".repeat(10_000);
+        try (Options options = new Options().setCreateIfMissing(true);
+             RocksDB db = RocksDB.open(options, tempDir.toString())) {
+            db.put("a".getBytes(StandardCharsets.UTF_8), "small".getBytes(StandardCharsets.UTF_8));
+            db.put("b".repeat(1000).getBytes(StandardCharsets.UTF_8), largeValue.getBytes(StandardCharsets.UTF_8));
+
+            // When
+            IteratorBuffers buffers = new IteratorBuffers();
+            try (RocksIterator iter = db.newIterator()) {
+                iter.seekToFirst();
+                buffers.readKey(iter);
+                buffers.readValue(iter);
+                assertEquals("a", buffers.keyString());
+                assertEquals("small", buffers.valueString());
+
+                iter.next();
+                buffers.readKey(iter);
+                buffers.readValue(iter);
+
+                // Then
+                assertEquals("b".repeat(1000), buffers.keyString());
+                assertArrayEquals("b".repeat(1000).getBytes(StandardCharsets.UTF_8), buffers.keyBytes());
+                assertEquals(largeValue, buffers.valueString());
+                assertTrue(buffers.valueContains("éé".getBytes(StandardCharsets.UTF_8)));
+                assertFalse(buffers.valueContains("small".getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+    }
+
+    @Test
+    void shouldFindBytesWithinBufferWindow() {
+        ByteBuffer buffer = ByteBuffer.wrap("xxabcabd".getBytes(StandardCharsets.UTF_8));
+        buffer.position(2);
+
+        assertEquals(3, IteratorBuffers.indexOf(buffer, "abd".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(-1, IteratorBuffers.indexOf(buffer, "xx".getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,156 @@
+package dev.rocksdb.explorer.service;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.node.BooleanNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+import dev.rocksdb.explorer.model.JsonMatch;
+import dev.rocksdb.explorer.model.JsonPredicate;
+import dev.rocksdb.explorer.model.JsonQueryRequest;
+import dev.rocksdb.explorer.model.JsonQueryResult;
+import dev.rocksdb.explorer.util.TestUtils;
+
+class JsonQueryServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ExplorerProperties properties = new ExplorerProperties();
+    private final DatabaseSessionRegistry registry = new DatabaseSessionRegistry(properties);
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final JsonQueryService service = new JsonQueryService(registry, executor, properties,
+        TestUtils.newPipelineMetrics());
+
+    private String databaseId;
+
+    @BeforeEach
+    void openDatabase() throws Exception {
+        Path archive = TestUtils.createTestDatabase(tempDir);
+        databaseId = TestUtils.newRocksDBService(registry, properties, tempDir)
+            .openDatabase(archive, ArchiveExtractor.Listener.NONE)
+            .getId();
+    }
+
+    @AfterEach
+    void closeDatabase() {
+        registry.closeAll();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldReturnSelectedFieldsOfMatchingDocuments() throws Exception {
+        // Given
+        JsonQueryRequest request = new JsonQueryRequest(null, null, null,
+            List.of(new JsonPredicate("stats.loginCount", "gt", IntNode.valueOf(5))),
+            List.of("name", "profile.preferences.theme"), null, null);
+
+        // When
+        JsonQueryResult result = service.query(databaseId, null, request);
+
+        // Then
+        assertEquals(1, result.matches().size());
+        JsonMatch match = result.matches().get(0);
+        assertEquals("user:000001", match.key());
+        assertEquals(List.of("name", "profile.preferences.theme"), List.copyOf(match.fields().keySet()));
+        assertEquals("User 1", match.fields().get("name").textValue());
+        assertEquals("dark", match.fields().get("profile.preferences.theme").textValue());
+        assertNull(result.nextAfter());
+    }
+
+    @Test
+    void shouldNotMatchDocumentsMissingPredicateField() throws Exception {
+        // Given: only the preferences entry has a top-level theme
+        JsonQueryRequest request = new JsonQueryRequest(null, null, null,
+            List.of(new JsonPredicate("theme", "eq", TextNode.valueOf("dark"))),
+            List.of("language"), null, null);
+
+        // When
+        JsonQueryResult result = service.query(databaseId, null, request);
+
+        // Then
+        assertEquals(List.of("user:000001.profile.preferences"),
+            result.matches().stream().map(JsonMatch::key).toList());
+        assertEquals("en-US", result.matches().get(0).fields().get("language").textValue());
+    }
+
+    @Test
+    void shouldPageThroughMatches() throws Exception {
+        // When
+        JsonQueryResult first = service.query(databaseId, null,
+            new JsonQueryRequest("user:", null, null, null, List.of("theme"), null, 1));
+        JsonQueryResult second = service.query(databaseId, null,
+            new JsonQueryRequest("user:", null, null, null, List.of("theme"), first.nextAfter(), 1));
+
+        // Then
+        assertEquals("user:000001", first.matches().get(0).key());
+        assertNull(first.matches().get(0).fields().get("theme"));
+        assertEquals("user:000001", first.nextAfter());
+        assertEquals(List.of("user:000001.profile.preferences"),
+            second.matches().stream().map(JsonMatch::key).toList());
+        // The last page is known to be the last one
+        assertNull(second.nextAfter());
+    }
+
+    @Test
+    void shouldMergeShardMatchesInKeyOrder() throws Exception {
+        // Given
+        Path archive = TestUtils.createShardedTestDatabase(tempDir, 1000, 8,
+            i -> "{\"id\":" + i + ",\"even\":" + (i % 2 == 0) + "}");
+        String shardedId = TestUtils.newRocksDBService(registry, properties, tempDir)
+            .openDatabase(archive, ArchiveExtractor.Listener.NONE)
+            .getId();
+        List<JsonPredicate> where = List.of(
+            new JsonPredicate("id", "gt", IntNode.valueOf(800)),
+            new JsonPredicate("even", "eq", BooleanNode.TRUE));
+
+        // When
+        JsonQueryResult first = service.query(shardedId, null,
+            new JsonQueryRequest(null, null, null, where, List.of("id"), null, 60));
+        JsonQueryResult second = service.query(shardedId, null,
+            new JsonQueryRequest(null, null, null, where, List.of("id"), first.nextAfter(), 60));
+
+        // Then
+        assertTrue(first.shards() > 1);
+        assertEquals(60, first.matches().size());
+        assertEquals("key:000802", first.matches().get(0).key());
+        assertEquals(920, first.matches().get(59).fields().get("id").intValue());
+        assertEquals("key:000920", first.nextAfter());
+        for (int i = 1; i < first.matches().size(); i++) {
+            assertTrue(first.matches().get(i - 1).key().compareTo(first.matches().get(i).key()) < 0);
+        }
+        assertEquals(40, second.matches().size());
+        assertEquals("key:000922", second.matches().get(0).key());
+        assertEquals("key:001000", second.matches().get(39).key());
+        assertNull(second.nextAfter());
+    }
+
+    @Test
+    void shouldRejectUnknownOperator() {
+        JsonQueryRequest request = new JsonQueryRequest(null, null, null,
+            List.of(new JsonPredicate("id", "like", IntNode.valueOf(1))), null, null, null);
+
+        assertThrows(IllegalArgumentException.class, () -> service.query(databaseId, null, request));
+    }
+
+    @Test
+    void shouldRejectQueryWithoutPredicatesOrProjection() {
+        JsonQueryRequest request = new JsonQueryRequest(null, null, null, List.of(), List.of(), null, null);
+
+        assertThrows(IllegalArgumentException.class, () -> service.query(databaseId, null, request));
+    }
+}
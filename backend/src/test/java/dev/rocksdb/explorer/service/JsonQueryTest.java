@@ -0,0 +1,133 @@
+package dev.rocksdb.explorer.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.DoubleNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import dev.rocksdb.explorer.model.JsonPredicate;
+
+class JsonQueryTest {
+
+    @Test
+    void shouldCompareWithEveryOperator() throws Exception {
+        String document = "{\"n\":5,\"s\":\"beta\"}";
+
+        assertMatches(true, where("n", "ne", IntNode.valueOf(4)), document);
+        assertMatches(false, where("n", "ne", IntNode.valueOf(5)), document);
+        assertMatches(true, where("n", "lt", IntNode.valueOf(6)), document);
+        assertMatches(false, where("n", "lt", IntNode.valueOf(5)), document);
+        assertMatches(true, where("n", "lte", IntNode.valueOf(5)), document);
+        assertMatches(true, where("n", "gte", IntNode.valueOf(5)), document);
+        assertMatches(false, where("n", "gte", IntNode.valueOf(6)), document);
+        assertMatches(true, where("s", "gt", TextNode.valueOf("alpha")), document);
+        assertMatches(true, where("s", "exists", null), document);
+        assertMatches(false, where("missing", "exists", null), document);
+        // A missing field fails even a negation
+        assertMatches(false, where("missing", "ne", IntNode.valueOf(1)), document);
+    }
+
+    @Test
+    void shouldCompareIntegersWithDoubles() throws Exception {
+        assertMatches(true, where("n", "eq", DoubleNode.valueOf(5.0)), "{\"n\":5}");
+        assertMatches(true, where("n", "gt", DoubleNode.valueOf(4.5)), "{\"n\":5}");
+        assertMatches(true, where("n", "lt", IntNode.valueOf(6)), "{\"n\":5.5}");
+        assertMatches(false, where("n", "gte", IntNode.valueOf(6)), "{\"n\":5.5}");
+    }
+
+    @Test
+    void shouldContainSubstringsAndArrayElements() throws Exception {
+        assertMatches(true, where("tags", "contains", TextNode.valueOf("lo w")), "{\"tags\":\"hello world\"}");
+        assertMatches(true, where("tags", "contains", TextNode.valueOf("b")), "{\"tags\":[\"a\",\"b\"]}");
+        // Array elements must equal the operand, not contain it
+        assertMatches(false, where("tags", "contains", TextNode.valueOf("b")), "{\"tags\":[\"abc\"]}");
+        assertMatches(true, where("ids", "contains", IntNode.valueOf(2)), "{\"ids\":[1,2.0]}");
+        assertMatches(false, where("ids", "contains", IntNode.valueOf(1)), "{\"ids\":\"1\"}");
+    }
+
+    @Test
+    void shouldTreatMissingOperandAsNull() throws Exception {
+        assertMatches(true, where("x", "eq", null), "{\"x\":null}");
+        assertMatches(false, where("x", "eq", null), "{\"x\":1}");
+        assertMatches(true, where("x", "ne", null), "{\"x\":1}");
+        // null is unordered
+        assertMatches(false, where("x", "lte", null), "{\"x\":null}");
+    }
+
+    @Test
+    void shouldFailOnNestedPredicate() throws Exception {
+        JsonQuery query = new JsonQuery(List.of(new JsonPredicate("a.b", "eq", IntNode.valueOf(2))), List.of("name"));
+
+        assertNull(evaluate(query, "{\"a\":{\"b\":1,\"c\":2},\"name\":\"n\"}"));
+        assertNull(evaluate(query, "{\"a\":2,\"name\":\"n\"}"));
+        assertEquals("n", evaluate(query, "{\"a\":{\"c\":2,\"b\":2},\"name\":\"n\"}")[0].textValue());
+    }
+
+    @Test
+    void shouldStopReadingOnceDecided() throws Exception {
+        // Given: the document is cut off after everything the query needs
+        JsonQuery query = new JsonQuery(List.of(new JsonPredicate("a.b", "eq", IntNode.valueOf(2))), List.of("name"));
+
+        // When
+        JsonNode[] fields = evaluate(query, "{\"a\":{\"b\":2},\"name\":\"n\",\"rest\":[tru");
+
+        // Then
+        assertNotNull(fields);
+        assertEquals("n", fields[0].textValue());
+    }
+
+    @Test
+    void shouldProjectSelectedFieldsInOrder() throws Exception {
+        JsonQuery query = new JsonQuery(null, List.of("b.c", "missing", "a"));
+
+        JsonNode[] fields = evaluate(query, "{\"a\":1,\"b\":{\"c\":\"x\"}}");
+
+        assertEquals("x", fields[0].textValue());
+        assertNull(fields[1]);
+        assertEquals(1, fields[2].intValue());
+    }
+
+    @Test
+    void shouldNotMatchValuesOtherThanObjects() throws Exception {
+        JsonQuery query = new JsonQuery(null, List.of("a"));
+
+        assertNull(evaluate(query, "[{\"a\":1}]"));
+        assertNull(evaluate(query, "42"));
+        assertNull(evaluate(query, "\"a\""));
+        assertNull(evaluate(query, "not json"));
+        assertNull(evaluate(query, ""));
+    }
+
+    @Test
+    void shouldOnlyReadGivenLength() throws Exception {
+        // Given: a reused array that still holds the end of a longer document
+        JsonQuery query = new JsonQuery(List.of(new JsonPredicate("a", "eq", IntNode.valueOf(1))), null);
+        byte[] value = Arrays.copyOf("{\"a\":1}".getBytes(StandardCharsets.UTF_8), 64);
+        Arrays.fill(value, 7, 64, (byte) '}');
+
+        // When / Then
+        assertNotNull(query.evaluate(value, 7));
+    }
+
+    private static JsonQuery where(String field, String op, JsonNode value) {
+        return new JsonQuery(List.of(new JsonPredicate(field, op, value)), null);
+    }
+
+    private static JsonNode[] evaluate(JsonQuery query, String json) throws Exception {
+        byte[] value = json.getBytes(StandardCharsets.UTF_8);
+        return query.evaluate(value, value.length);
+    }
+
+    private static void assertMatches(boolean expected, JsonQuery query, String json) throws Exception {
+        assertEquals(expected, evaluate(query, json) != null, json);
+    }
+}
@@ -0,0 +1,200 @@
+package dev.rocksdb.explorer.service;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+import dev.rocksdb.explorer.model.EntryPage;
+import dev.rocksdb.explorer.model.EntryPreview;
+import dev.rocksdb.explorer.model.KeyIndexInfo;
+import dev.rocksdb.explorer.util.TestUtils;
+
+class KeyIndexServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ExplorerProperties properties = new ExplorerProperties();
+    private final DatabaseSessionRegistry registry = new DatabaseSessionRegistry(properties);
+    private final AdmissionControl admissionControl = new AdmissionControl(properties);
+    private KeyIndexService service;
+    private String databaseId;
+
+    @BeforeEach
+    void openDatabase() throws Exception {
+        properties.getKeyIndex().setDirectory(tempDir.resolve("key-index"));
+        service = new KeyIndexService(registry, TestUtils.newValueDecoders(properties), properties,
+            TestUtils.blockCache(), TestUtils.newPipelineMetrics(), admissionControl);
+        Path archive = TestUtils.createShardedTestDatabase(tempDir, 1000, 4);
+        databaseId = TestUtils.newRocksDBService(registry, properties, tempDir)
+            .openDatabase(archive, ArchiveExtractor.Listener.NONE)
+            .getId();
+    }
+
+    @AfterEach
+    void closeDatabase() {
+        service.closeAll();
+        registry.closeAll();
+    }
+
+    @Test
+    void shouldBuildIndexInBackground() throws Exception {
+        // When
+        service.build(databaseId, null);
+        KeyIndexInfo info = awaitBuilt();
+
+        // Then
+        assertEquals(KeyIndexInfo.State.READY, info.state(), info.error());
+        assertEquals(1000, info.keysIndexed());
+        // "key:000001" has 8 trigrams
+        assertEquals(8000, info.postings());
+    }
+
+    @Test
+    void shouldWaitForScanSlot() throws Exception {
+        // Given: every scan slot is taken
+        List<AdmissionControl.Permit> taken = new ArrayList<>();
+        while (admissionControl.available(AdmissionControl.Resource.SCAN) > 0) {
+            taken.add(admissionControl.admit(AdmissionControl.Resource.SCAN));
+        }
+
+        // When
+        service.build(databaseId, null);
+        Thread.sleep(200);
+
+        // Then
+        assertEquals(0, service.info(databaseId, null).keysIndexed());
+
+        // When
+        taken.forEach(AdmissionControl.Permit::close);
+
+        // Then
+        assertEquals(KeyIndexInfo.State.READY, awaitBuilt().state());
+    }
+
+    @Test
+    void shouldFindKeysContainingQueryInKeyOrder() throws Exception {
+        // Given
+        service.build(databaseId, null);
+        awaitBuilt();
+
+        // When
+        EntryPage first = service.search(databaseId, null, "0012", null, 5);
+        EntryPage second = service.search(databaseId, null, "0012", first.nextAfter(), 5);
+        EntryPage third = service.search(databaseId, null, "0012", second.nextAfter(), 5);
+
+        // Then
+        assertEquals(List.of("key:000012", "key:000120", "key:000121", "key:000122", "key:000123"),
+            first.entries().stream().map(EntryPreview::key).toList());
+        assertEquals("key:000123", first.nextAfter());
+        assertEquals("value-12", first.entries().get(0).preview());
+        assertEquals(List.of("key:000124", "key:000125", "key:000126", "key:000127", "key:000128"),
+            second.entries().stream().map(EntryPreview::key).toList());
+        assertEquals(List.of("key:000129"), third.entries().stream().map(EntryPreview::key).toList());
+        assertNull(third.nextAfter());
+    }
+
+    @Test
+    void shouldNotReturnKeysThatOnlyContainTrigramsOfQuery() throws Exception {
+        // Given
+        service.build(databaseId, null);
+        awaitBuilt();
+
+        // When: "key:000200" contains both "200" and "000", but not "2000"
+        EntryPage page = service.search(databaseId, null, "2000", null, 100);
+
+        // Then
+        assertTrue(page.entries().isEmpty());
+        assertNull(page.nextAfter());
+    }
+
+    @Test
+    void shouldRejectQueriesShorterThanTrigram() throws Exception {
+        service.build(databaseId, null);
+
+        assertThrows(IllegalArgumentException.class, () -> service.search(databaseId, null, "12", null, 10));
+    }
+
+    @Test
+    void shouldDropIndexWhenDatabaseIsClosed() throws Exception {
+        // Given
+        service.build(databaseId, null);
+        awaitBuilt();
+
+        // When
+        registry.close(databaseId);
+
+        // Then
+        assertThrows(KeyIndexNotFoundException.class, () -> service.info(databaseId, null));
+        assertThrows(KeyIndexNotFoundException.class, () -> service.search(databaseId, null, "0012", null, 10));
+    }
+
+    @Test
+    void shouldFailBuildsBeyondDiskBudget() throws Exception {
+        // Given: 8000 postings of 13 bytes do not fit
+        properties.getKeyIndex().setMaxDiskUsage(DataSize.ofKilobytes(1));
+
+        // When
+        service.build(databaseId, null);
+        KeyIndexInfo info = awaitBuilt();
+
+        // Then
+        assertEquals(KeyIndexInfo.State.FAILED, info.state());
+        assertTrue(info.error().contains("max-disk-usage"), info.error());
+        assertThrows(KeyIndexNotReadyException.class, () -> service.search(databaseId, null, "0012", null, 10));
+
+        // When
+        properties.getKeyIndex().setMaxDiskUsage(DataSize.ofMegabytes(10));
+        service.build(databaseId, null);
+
+        // Then
+        assertEquals(KeyIndexInfo.State.READY, awaitBuilt().state());
+    }
+
+    @Test
+    void shouldRejectBuildsBeyondQueue() throws Exception {
+        // Given: one build running, waiting for a scan slot, and one more allowed to wait
+        service.closeAll();
+        properties.getKeyIndex().setMaxConcurrentBuilds(1);
+        properties.getKeyIndex().setMaxQueuedBuilds(1);
+        service = new KeyIndexService(registry, TestUtils.newValueDecoders(properties), properties,
+            TestUtils.blockCache(), TestUtils.newPipelineMetrics(), admissionControl);
+        List<AdmissionControl.Permit> taken = new ArrayList<>();
+        while (admissionControl.available(AdmissionControl.Resource.SCAN) > 0) {
+            taken.add(admissionControl.admit(AdmissionControl.Resource.SCAN));
+        }
+        String cfDatabaseId = TestUtils.newRocksDBService(registry, properties, tempDir)
+            .openDatabase(TestUtils.createColumnFamilyTestDatabase(tempDir), ArchiveExtractor.Listener.NONE)
+            .getId();
+        service.build(cfDatabaseId, "users");
+        service.build(cfDatabaseId, "metrics");
+
+        // When / Then
+        assertThrows(AdmissionRejectedException.class, () -> service.build(databaseId, null));
+        assertThrows(KeyIndexNotFoundException.class, () -> service.info(databaseId, null));
+        taken.forEach(AdmissionControl.Permit::close);
+    }
+
+    private KeyIndexInfo awaitBuilt() throws InterruptedException {
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(30));
+        KeyIndexInfo info = service.info(databaseId, null);
+        while (info.state() == KeyIndexInfo.State.BUILDING && Instant.now().isBefore(deadline)) {
+            Thread.sleep(20);
+            info = service.info(databaseId, null);
+        }
+        return info;
+    }
+}
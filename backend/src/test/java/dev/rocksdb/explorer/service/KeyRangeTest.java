@@ -0,0 +1,41 @@
+package dev.rocksdb.explorer.service;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class KeyRangeTest {
+
+    @Test
+    void shouldBoundPrefixBySuccessor() {
+        KeyRange range = KeyRange.of("user:", null, null);
+
+        assertArrayEquals(bytes("user:"), range.lower());
+        assertArrayEquals(bytes("user;"), range.upper());
+        assertTrue(range.contains(bytes("user:000001")));
+        assertFalse(range.contains(bytes("users")));
+    }
+
+    @Test
+    void shouldSkipTrailingMaxBytesInSuccessor() {
+        assertArrayEquals(new byte[] {0x01}, KeyRange.successor(new byte[] {0x00, (byte) 0xFF}));
+        assertNull(KeyRange.successor(new byte[] {(byte) 0xFF, (byte) 0xFF}));
+    }
+
+    @Test
+    void shouldIntersectPrefixWithExplicitBounds() {
+        KeyRange range = KeyRange.of("metric:", "a", "metric:2024");
+
+        assertArrayEquals(bytes("metric:"), range.lower());
+        assertArrayEquals(bytes("metric:2024"), range.upper());
+        assertTrue(KeyRange.of("log:", "user:", null).isEmpty());
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+}
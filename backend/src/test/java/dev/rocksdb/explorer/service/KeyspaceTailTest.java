@@ -0,0 +1,101 @@
+package dev.rocksdb.explorer.service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rocksdb.FlushOptions;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
+
+import dev.rocksdb.explorer.model.KeyChange;
+
+class KeyspaceTailTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Options primaryOptions;
+    private RocksDB primary;
+    private Options secondaryOptions;
+    private RocksDB secondary;
+
+    @BeforeEach
+    void openPrimaryAndSecondary() throws Exception {
+        RocksDB.loadLibrary();
+        Path dbPath = tempDir.resolve("primary");
+        primaryOptions = new Options().setCreateIfMissing(true);
+        primary = RocksDB.open(primaryOptions, dbPath.toString());
+        primary.put("user:1".getBytes(), "alice".getBytes());
+        primary.put("user:2".getBytes(), "bob".getBytes());
+        primary.put("other:1".getBytes(), "ignored".getBytes());
+
+        secondaryOptions = new Options().setMaxOpenFiles(-1);
+        secondary = RocksDB.openAsSecondary(secondaryOptions, dbPath.toString(),
+            Files.createDirectory(tempDir.resolve("secondary")).toString());
+    }
+
+    @AfterEach
+    void close() {
+        secondary.close();
+        secondaryOptions.close();
+        primary.close();
+        primaryOptions.close();
+    }
+
+    @Test
+    void shouldReportOnlyKeysChangedSinceLastPoll() throws Exception {
+        // Given
+        KeyspaceTail tail = new KeyspaceTail(KeyRange.of("user:", null, null), 100);
+        assertTrue(tail.poll(secondary, secondary.getDefaultColumnFamily()).isEmpty());
+
+        // When
+        primary.put("user:2".getBytes(), "bobby".getBytes());
+        primary.put("user:3".getBytes(), "carol".getBytes());
+        primary.delete("user:1".getBytes());
+        primary.put("other:2".getBytes(), "ignored".getBytes());
+        List<KeyChange> changes = tail.poll(secondary, secondary.getDefaultColumnFamily());
+
+        // Then
+        assertEquals(List.of(
+            new KeyChange("user:2", "bobby", false),
+            new KeyChange("user:3", "carol", false),
+            new KeyChange("user:1", null, true)
+        ), changes);
+        assertEquals(primary.getLatestSequenceNumber(), tail.sequence());
+        assertTrue(tail.poll(secondary, secondary.getDefaultColumnFamily()).isEmpty());
+    }
+
+    @Test
+    void shouldFollowChangesFlushedByPrimary() throws Exception {
+        // Given
+        KeyspaceTail tail = new KeyspaceTail(KeyRange.ALL, 100);
+        tail.poll(secondary, secondary.getDefaultColumnFamily());
+
+        // When
+        primary.put("user:4".getBytes(), "dave".getBytes());
+        try (FlushOptions flush = new FlushOptions().setWaitForFlush(true)) {
+            primary.flush(flush);
+        }
+        List<KeyChange> changes = tail.poll(secondary, secondary.getDefaultColumnFamily());
+
+        // Then
+        assertEquals(1, changes.size());
+        assertEquals("user:4", changes.get(0).key());
+        assertTrue(tail.poll(secondary, secondary.getDefaultColumnFamily()).isEmpty());
+    }
+
+    @Test
+    void shouldRejectRangesOverKeyLimit() {
+        KeyspaceTail tail = new KeyspaceTail(KeyRange.ALL, 2);
+
+        assertThrows(IllegalArgumentException.class, () -> tail.poll(secondary, secondary.getDefaultColumnFamily()));
+    }
+}
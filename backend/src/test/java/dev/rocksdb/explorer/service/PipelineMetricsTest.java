@@ -0,0 +1,80 @@
+package dev.rocksdb.explorer.service;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+
+class PipelineMetricsTest {
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final ObservationRegistry observations = ObservationRegistry.create();
+    private final PipelineMetrics metrics = new PipelineMetrics(observations, meters);
+
+    @BeforeEach
+    void recordObservationsAsTimers() {
+        // What Spring Boot's actuator sets up
+        observations.observationConfig().observationHandler(new DefaultMeterObservationHandler(meters));
+    }
+
+    @Test
+    void shouldTimeStages() {
+        // When
+        String result = metrics.observe(PipelineMetrics.OPEN, () -> "opened");
+        metrics.extracted(1024);
+
+        // Then
+        assertEquals("opened", result);
+        assertEquals(1, meters.get(PipelineMetrics.OPEN).timer().count());
+        assertEquals(1024, meters.get("explorer.upload.extracted").counter().count());
+    }
+
+    @Test
+    void shouldTagFailedStages() {
+        assertThrows(IOException.class, () -> metrics.observe(PipelineMetrics.EXTRACT, () -> {
+            throw new IOException("truncated archive");
+        }));
+
+        assertEquals(1, meters.get(PipelineMetrics.EXTRACT).tag("error", "IOException").timer().count());
+    }
+
+    @Test
+    void shouldCountScannedEntriesPerOperation() {
+        // When
+        try (PipelineMetrics.Scan scan = metrics.scan("export")) {
+            scan.entry(3, 5);
+            scan.entry(2, 0);
+            scan.add(10, 100);
+            scan.serialized(TimeUnit.MILLISECONDS.toNanos(7));
+        }
+
+        // Then
+        assertEquals(1, meters.get(PipelineMetrics.SCAN).tag("operation", "export").timer().count());
+        assertEquals(12, meters.get("explorer.scan.keys").tag("operation", "export").counter().count());
+        assertEquals(110, meters.get("explorer.scan.data").tag("operation", "export").counter().count());
+        assertEquals(7, meters.get(PipelineMetrics.SERIALIZE).tag("operation", "export").timer()
+            .totalTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void shouldTagFailedScansAndKeepTheirCounts() {
+        // When
+        try (PipelineMetrics.Scan scan = metrics.scan("search")) {
+            scan.add(4, 40);
+            scan.error(new IOException("corrupted block"));
+            scan.error(new IllegalStateException("second shard"));
+        }
+
+        // Then
+        assertEquals(1, meters.get(PipelineMetrics.SCAN).tag("operation", "search").tag("error", "IOException")
+            .timer().count());
+        assertEquals(4, meters.get("explorer.scan.keys").tag("operation", "search").counter().count());
+    }
+}
@@ -0,0 +1,98 @@
+package dev.rocksdb.explorer.service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+import dev.rocksdb.explorer.model.PrefixHistogram;
+import dev.rocksdb.explorer.model.PrefixStats;
+import dev.rocksdb.explorer.util.TestUtils;
+
+class PrefixHistogramServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ExplorerProperties properties = new ExplorerProperties();
+    private final DatabaseSessionRegistry registry = new DatabaseSessionRegistry(properties);
+    private final PrefixHistogramService service = new PrefixHistogramService(registry, properties,
+        TestUtils.newPipelineMetrics());
+
+    private String databaseId;
+
+    @BeforeEach
+    void openDatabase() throws Exception {
+        Path testDbPath = TestUtils.createColumnFamilyTestDatabase(tempDir);
+        databaseId = TestUtils.newRocksDBService(registry, properties, tempDir).openDatabase(new MockMultipartFile(
+            "file",
+            "test-rocksdb-cf.zip",
+            "application/zip",
+            Files.readAllBytes(testDbPath)
+        )).getId();
+    }
+
+    @AfterEach
+    void closeDatabase() {
+        registry.closeAll();
+    }
+
+    @Test
+    void shouldGroupKeysByPrefix() throws Exception {
+        // When
+        PrefixHistogram histogram = service.histogram(databaseId, "metrics", KeyRange.ALL, ":", 100);
+
+        // Then
+        assertEquals(1, histogram.prefixes().size());
+        PrefixStats cpu = histogram.prefixes().get(0);
+        assertEquals("cpu:", cpu.prefix());
+        assertEquals(5, cpu.count());
+        assertEquals(5 * "cpu:000001".length(), cpu.keyBytes());
+        assertEquals(5 * 2, cpu.valueBytes());
+        assertEquals(2, cpu.p50ValueSize());
+        assertEquals(2, cpu.maxValueSize());
+        assertNull(histogram.other());
+    }
+
+    @Test
+    void shouldCountKeysWithoutDelimiterUnderEmptyPrefix() throws Exception {
+        // When
+        PrefixHistogram histogram = service.histogram(databaseId, "users", KeyRange.ALL, "0", 100);
+
+        // Then
+        assertEquals(1, histogram.prefixes().size());
+        assertEquals("user:0", histogram.prefixes().get(0).prefix());
+
+        // When
+        histogram = service.histogram(databaseId, "users", KeyRange.ALL, "#", 100);
+
+        // Then
+        assertEquals("", histogram.prefixes().get(0).prefix());
+        assertEquals(3, histogram.prefixes().get(0).count());
+    }
+
+    @Test
+    void shouldFoldPrefixesBeyondLimitIntoOther() throws Exception {
+        // When
+        PrefixHistogram histogram = service.histogram(databaseId, "users", KeyRange.ALL, "1", 1);
+
+        // Then
+        assertEquals(1, histogram.prefixes().size());
+        assertEquals("user:000001", histogram.prefixes().get(0).prefix());
+        assertEquals(2, histogram.other().count());
+    }
+
+    @Test
+    void shouldRejectMultiCharacterDelimiter() {
+        assertThrows(IllegalArgumentException.class,
+            () -> service.histogram(databaseId, null, KeyRange.ALL, "::", 10));
+    }
+}
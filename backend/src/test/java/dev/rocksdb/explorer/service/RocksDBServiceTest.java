@@ -1,5 +1,6 @@
 package dev.rocksdb.explorer.service;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.FileOutputStream;
 import java.nio.file.Files;
@@ -11,14 +12,19 @@ import java.util.zip.ZipOutputStream;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import dev.rocksdb.explorer.config.ExplorerProperties;
 import dev.rocksdb.explorer.util.TestUtils;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -28,7 +34,19 @@ class RocksDBServiceTest {
     @TempDir
     Path tempDir;
 
-    private final RocksDBService service = new RocksDBService();
+    private final ExplorerProperties properties = new ExplorerProperties();
+    private final DatabaseSessionRegistry registry = new DatabaseSessionRegistry(properties);
+    private RocksDBService service;
+
+    @BeforeEach
+    void createService() throws IOException {
+        service = TestUtils.newRocksDBService(registry, properties, tempDir);
+    }
+
+    @AfterEach
+    void closeDatabases() {
+        registry.closeAll();
+    }
 
     @Test
     void shouldProcessValidDatabase() throws Exception {
@@ -61,6 +79,119 @@ class RocksDBServiceTest {
         assertTrue(actualPrefs.get("notifications").asBoolean());
     }
 
+    @Test
+    void shouldKeepProcessedDatabaseOpen() throws Exception {
+        // Given
+        Path testDbPath = TestUtils.createTestDatabase(tempDir);
+        MultipartFile file = new MockMultipartFile(
+            "file",
+            "test-rocksdb-small.zip",
+            "application/zip",
+            Files.readAllBytes(testDbPath)
+        );
+
+        // When
+        DatabaseSession session = service.openDatabase(file);
+        Map<String, String> first = service.readAll(session);
+        Map<String, String> second = service.readAll(registry.get(session.getId()));
+
+        // Then
+        assertEquals(first, second);
+        assertEquals(1, registry.list().size());
+    }
+
+    @Test
+    void shouldReuseOpenSessionForSameArchive() throws Exception {
+        // Given
+        byte[] archive = Files.readAllBytes(TestUtils.createTestDatabase(tempDir));
+
+        // When
+        DatabaseSession first = service.openDatabase(upload(archive));
+        DatabaseSession second = service.openDatabase(upload(archive));
+
+        // Then
+        assertSame(first, second);
+        assertEquals(ArchiveExtractor.digest(new ByteArrayInputStream(archive)), first.getContentDigest());
+        assertEquals(1, registry.list().size());
+    }
+
+    @Test
+    void shouldReopenFromCacheAfterClose() throws Exception {
+        // Given
+        byte[] archive = Files.readAllBytes(TestUtils.createTestDatabase(tempDir));
+        DatabaseSession first = service.openDatabase(upload(archive));
+        registry.close(first.getId());
+
+        // When
+        DatabaseSession second = service.openDatabase(
+            new ByteArrayInputStream(new byte[0]), first.getContentDigest());
+
+        // Then
+        assertNotSame(first, second);
+        assertEquals(first.getDbPath(), second.getDbPath());
+        assertEquals(2, service.readAll(second).size());
+    }
+
+    @Test
+    void shouldRejectMismatchedDigest() throws Exception {
+        // Given
+        byte[] archive = Files.readAllBytes(TestUtils.createTestDatabase(tempDir));
+
+        // When/Then
+        assertThrows(IllegalArgumentException.class,
+            () -> service.openDatabase(new ByteArrayInputStream(archive), "0".repeat(64)));
+        assertTrue(registry.list().isEmpty());
+    }
+
+    @Test
+    void shouldOpenLocalDatabaseInPlace() throws Exception {
+        // Given
+        TestUtils.createTestDatabase(tempDir);
+        properties.getLocal().getAllowedRoots().add(tempDir);
+
+        // When
+        DatabaseSession session = service.openLocalDatabase(tempDir.toString(), false);
+
+        // Then
+        assertEquals(tempDir.resolve("test-db").toRealPath(), session.getDbPath());
+        assertFalse(session.isSecondary());
+        assertEquals(2, service.readAll(session).size());
+    }
+
+    @Test
+    void shouldOpenLocalDatabaseAsSecondary() throws Exception {
+        // Given
+        TestUtils.createTestDatabase(tempDir);
+        properties.getLocal().getAllowedRoots().add(tempDir);
+        properties.getLocal().setSecondaryDirectory(tempDir.resolve("secondary"));
+
+        // When
+        DatabaseSession session = service.openLocalDatabase(tempDir.resolve("test-db").toString(), true);
+
+        // Then
+        assertTrue(session.isSecondary());
+        assertEquals(2, service.readAll(session).size());
+        registry.close(session.getId());
+        try (var scratch = Files.list(tempDir.resolve("secondary"))) {
+            assertEquals(0, scratch.count());
+        }
+    }
+
+    @Test
+    void shouldRejectLocalPathOutsideAllowedRoots() throws Exception {
+        // Given
+        TestUtils.createTestDatabase(tempDir);
+        Path allowed = Files.createDirectory(tempDir.resolve("allowed"));
+        properties.getLocal().getAllowedRoots().add(allowed);
+
+        // When/Then
+        assertThrows(IllegalArgumentException.class,
+            () -> service.openLocalDatabase(allowed.resolve("../test-db").toString(), false));
+        assertThrows(IllegalArgumentException.class,
+            () -> service.openLocalDatabase(tempDir.resolve("missing").toString(), false));
+        assertTrue(registry.list().isEmpty());
+    }
+
     @Test
     void shouldRejectNonZipFile() {
         // Given
@@ -167,4 +298,8 @@ class RocksDBServiceTest {
         // When/Then
         assertThrows(RuntimeException.class, () -> service.processDatabase(file));
     }
-} 
\ No newline at end of file
+
+    private static MultipartFile upload(byte[] archive) {
+        return new MockMultipartFile("file", "test-rocksdb-small.zip", "application/zip", archive);
+    }
+}
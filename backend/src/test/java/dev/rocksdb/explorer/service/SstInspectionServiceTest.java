@@ -0,0 +1,159 @@
+package dev.rocksdb.explorer.service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rocksdb.EnvOptions;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
+import org.rocksdb.SstFileWriter;
+import org.springframework.mock.web.MockMultipartFile;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+import dev.rocksdb.explorer.model.SstEntry;
+import dev.rocksdb.explorer.model.SstEntryPage;
+import dev.rocksdb.explorer.model.SstFileSetInfo;
+import dev.rocksdb.explorer.util.TestUtils;
+
+class SstInspectionServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ExplorerProperties properties = new ExplorerProperties();
+    private SstInspectionService service;
+    private Path sstDir;
+
+    @BeforeEach
+    void writeSstFiles() throws Exception {
+        RocksDB.loadLibrary();
+        properties.getCache().setDirectory(tempDir.resolve("cache"));
+        properties.getLocal().setAllowedRoots(List.of(tempDir));
+        service = new SstInspectionService(TestUtils.newArchiveExtractor(properties), new ExtractionCache(properties),
+            TestUtils.newValueDecoders(properties), properties, TestUtils.blockCache());
+
+        sstDir = Files.createDirectory(tempDir.resolve("sst"));
+        writeSst(sstDir.resolve("000010.sst"), "other:1", "user:1", "user:3", "user:5");
+        writeSst(sstDir.resolve("000011.sst"), "user:2", "user:3", "user:4");
+    }
+
+    @AfterEach
+    void closeSets() {
+        service.closeAll();
+    }
+
+    @Test
+    void shouldReadTablePropertiesOfEachFile() throws Exception {
+        // When
+        SstFileSetInfo info = service.openLocal(sstDir.toString());
+
+        // Then
+        assertEquals(2, info.files().size());
+        assertEquals("000010.sst", info.files().get(0).name());
+        assertEquals(4, info.files().get(0).entries());
+        assertEquals("other:1", info.files().get(0).smallestKey());
+        assertEquals("user:5", info.files().get(0).largestKey());
+        assertEquals(3, info.files().get(1).entries());
+        assertTrue(info.files().get(1).rawValueSize() > 0);
+    }
+
+    @Test
+    void shouldMergeFilesInKeyOrderWithinRange() throws Exception {
+        // Given
+        String id = service.openLocal(sstDir.toString()).id();
+
+        // When
+        SstEntryPage page = service.listEntries(id, KeyRange.of("user:", null, "user:5"), null, 100);
+
+        // Then
+        assertEquals(List.of("user:1", "user:2", "user:3", "user:3", "user:4"),
+            page.entries().stream().map(SstEntry::key).toList());
+        assertEquals(List.of("000010.sst", "000011.sst", "000010.sst", "000011.sst", "000011.sst"),
+            page.entries().stream().map(SstEntry::file).toList());
+        assertEquals("value of user:3 in 000011.sst", page.entries().get(3).preview());
+        assertNull(page.nextAfter());
+    }
+
+    @Test
+    void shouldKeepEveryVersionOfKeyOnOnePage() throws Exception {
+        // Given
+        String id = service.openLocal(sstDir.toString()).id();
+
+        // When
+        SstEntryPage first = service.listEntries(id, KeyRange.of("user:", null, null), null, 3);
+        SstEntryPage second = service.listEntries(id, KeyRange.of("user:", null, null), first.nextAfter(), 3);
+
+        // Then
+        assertEquals(List.of("user:1", "user:2", "user:3", "user:3"),
+            first.entries().stream().map(SstEntry::key).toList());
+        assertEquals("user:3", first.nextAfter());
+        assertEquals(List.of("user:4", "user:5"), second.entries().stream().map(SstEntry::key).toList());
+        assertNull(second.nextAfter());
+    }
+
+    @Test
+    void shouldOpenUploadedArchiveOfSstFiles() throws Exception {
+        // Given
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(bytes)) {
+            for (String name : List.of("000010.sst", "000011.sst")) {
+                zos.putNextEntry(new ZipEntry("backup/" + name));
+                zos.write(Files.readAllBytes(sstDir.resolve(name)));
+            }
+        }
+
+        // When
+        SstFileSetInfo info = service.openArchive(
+            new MockMultipartFile("file", "sst.zip", "application/zip", bytes.toByteArray()));
+
+        // Then
+        assertEquals(List.of("backup/000010.sst", "backup/000011.sst"),
+            info.files().stream().map(file -> file.name()).toList());
+        assertEquals(7, service.listEntries(info.id(), KeyRange.ALL, null, 100).entries().size());
+    }
+
+    @Test
+    void shouldForgetClosedSets() throws Exception {
+        // Given
+        String id = service.openLocal(sstDir.toString()).id();
+
+        // When
+        assertTrue(service.close(id));
+
+        // Then
+        assertFalse(service.close(id));
+        assertThrows(SstFileSetNotFoundException.class, () -> service.listEntries(id, KeyRange.ALL, null, 10));
+    }
+
+    @Test
+    void shouldRejectDirectoriesWithoutSstFiles() throws Exception {
+        Path empty = Files.createDirectory(tempDir.resolve("empty"));
+
+        assertThrows(IllegalArgumentException.class, () -> service.openLocal(empty.toString()));
+    }
+
+    private static void writeSst(Path path, String... keys) throws Exception {
+        try (EnvOptions envOptions = new EnvOptions();
+             Options options = new Options();
+             SstFileWriter writer = new SstFileWriter(envOptions, options)) {
+            writer.open(path.toString());
+            for (String key : keys) {
+                writer.put(key.getBytes(), ("value of " + key + " in " + path.getFileName()).getBytes());
+            }
+            writer.finish();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package dev.rocksdb.explorer.service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+import dev.rocksdb.explorer.model.UploadProgress;
+import dev.rocksdb.explorer.util.TestUtils;
+
+class UploadJobServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ExplorerProperties properties = new ExplorerProperties();
+    private final DatabaseSessionRegistry registry = new DatabaseSessionRegistry(properties);
+    private AdmissionControl admissionControl;
+    private UploadJobService service;
+
+    @BeforeEach
+    void createService() throws Exception {
+        properties.getAdmission().setMaxExtractions(1);
+        admissionControl = new AdmissionControl(properties);
+        RocksDBService rocksDBService = TestUtils.newRocksDBService(registry, properties, tempDir);
+        service = new UploadJobService(rocksDBService, new ExtractionCache(properties), properties,
+            TestUtils.newPipelineMetrics(), admissionControl);
+    }
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+        registry.closeAll();
+    }
+
+    @Test
+    void shouldOpenDatabaseInBackgroundAndReportProgress() throws Exception {
+        // Given
+        byte[] archive = Files.readAllBytes(TestUtils.createShardedTestDatabase(tempDir, 1000, 4));
+
+        // When
+        UploadProgress submitted = service.submit(new MockMultipartFile(
+            "file", "test-rocksdb-sharded.zip", "application/zip", archive));
+        UploadProgress finished = awaitFinished(submitted.jobId());
+
+        // Then
+        assertEquals(UploadProgress.State.DONE, finished.state(), finished.error());
+        assertEquals(archive.length, finished.archiveSize());
+        assertTrue(finished.archiveBytesRead() > 0);
+        assertTrue(finished.bytesExtracted() > 0);
+        assertTrue(finished.filesExtracted() > 0);
+        assertEquals(1000, finished.keysScanned());
+        assertNotNull(registry.get(finished.databaseId()));
+    }
+
+    @Test
+    void shouldReportFailedJobs() throws Exception {
+        // When
+        UploadProgress submitted = service.submit(new MockMultipartFile(
+            "file", "broken.zip", "application/zip", "not a zip".getBytes()));
+        UploadProgress finished = awaitFinished(submitted.jobId());
+
+        // Then
+        assertEquals(UploadProgress.State.FAILED, finished.state());
+        assertNotNull(finished.error());
+    }
+
+    @Test
+    void shouldWaitForExtractionSlot() throws Exception {
+        // Given: a request is extracting
+        byte[] archive = Files.readAllBytes(TestUtils.createShardedTestDatabase(tempDir, 100, 1));
+        AdmissionControl.Permit taken = admissionControl.admit(AdmissionControl.Resource.EXTRACTION);
+
+        // When
+        UploadProgress submitted = service.submit(new MockMultipartFile(
+            "file", "test-rocksdb-sharded.zip", "application/zip", archive));
+        Thread.sleep(200);
+
+        // Then
+        assertEquals(UploadProgress.State.QUEUED, service.progress(submitted.jobId()).state());
+
+        // When
+        taken.close();
+
+        // Then
+        UploadProgress finished = awaitFinished(submitted.jobId());
+        assertEquals(UploadProgress.State.DONE, finished.state(), finished.error());
+        assertEquals(100, finished.keysScanned());
+        assertEquals(1, admissionControl.available(AdmissionControl.Resource.EXTRACTION));
+    }
+
+    @Test
+    void shouldRejectUnknownJob() {
+        assertThrows(UploadJobNotFoundException.class, () -> service.progress("missing"));
+    }
+
+    private UploadProgress awaitFinished(String jobId) throws InterruptedException {
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(30));
+        UploadProgress progress = service.progress(jobId);
+        while (!progress.state().isFinished() && Instant.now().isBefore(deadline)) {
+            Thread.sleep(20);
+            progress = service.progress(jobId);
+        }
+        return progress;
+    }
+}
@@ -0,0 +1,107 @@
+package dev.rocksdb.explorer.service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import dev.rocksdb.explorer.config.ExplorerProperties;
+import dev.rocksdb.explorer.model.SearchResult;
+import dev.rocksdb.explorer.util.TestUtils;
+
+class ValueSearchServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ExplorerProperties properties = new ExplorerProperties();
+    private final DatabaseSessionRegistry registry = new DatabaseSessionRegistry(properties);
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final ValueSearchService service = new ValueSearchService(registry, executor, properties,
+        TestUtils.newValueDecoders(properties), TestUtils.newPipelineMetrics());
+
+    private String databaseId;
+
+    @BeforeEach
+    void openDatabase() throws Exception {
+        Path testDbPath = TestUtils.createShardedTestDatabase(tempDir, 1000, 8);
+        databaseId = TestUtils.newRocksDBService(registry, properties, tempDir).openDatabase(new MockMultipartFile(
+            "file",
+            "test-rocksdb-sharded.zip",
+            "application/zip",
+            Files.readAllBytes(testDbPath)
+        )).getId();
+    }
+
+    @AfterEach
+    void closeDatabase() {
+        registry.closeAll();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldMergeShardHitsInKeyOrder() throws Exception {
+        // When
+        SearchResult result = service.search(databaseId, null, KeyRange.ALL, "99", false, 100);
+
+        // Then
+        assertTrue(result.shards() > 1);
+        assertFalse(result.truncated());
+        assertEquals(19, result.matches().size());
+        assertEquals("key:000099", result.matches().get(0).key());
+        assertEquals("key:000999", result.matches().get(18).key());
+        for (int i = 1; i < result.matches().size(); i++) {
+            assertTrue(result.matches().get(i - 1).key().compareTo(result.matches().get(i).key()) < 0);
+        }
+    }
+
+    @Test
+    void shouldStopAtHitLimit() throws Exception {
+        // When
+        SearchResult result = service.search(databaseId, null, KeyRange.ALL, "value-", false, 10);
+
+        // Then
+        assertTrue(result.truncated());
+        assertEquals(10, result.matches().size());
+        assertEquals("key:000001", result.matches().get(0).key());
+        assertEquals("key:000010", result.matches().get(9).key());
+    }
+
+    @Test
+    void shouldNotReportExactlyLimitHitsAsTruncated() throws Exception {
+        // When: value-10, value-100 to value-109 and value-1000 contain "value-10"
+        SearchResult result = service.search(databaseId, null, KeyRange.ALL, "value-10", false, 12);
+
+        // Then
+        assertFalse(result.truncated());
+        assertEquals(12, result.matches().size());
+        assertEquals("key:001000", result.matches().get(11).key());
+    }
+
+    @Test
+    void shouldSearchWithRegexWithinRange() throws Exception {
+        // When
+        SearchResult result = service.search(
+            databaseId, null, KeyRange.of("key:0005", null, null), "^value-5\\d0$", true, 100);
+
+        // Then
+        assertEquals(10, result.matches().size());
+        assertEquals("key:000500", result.matches().get(0).key());
+    }
+
+    @Test
+    void shouldRejectInvalidRegex() {
+        assertThrows(IllegalArgumentException.class,
+            () -> service.search(databaseId, null, KeyRange.ALL, "(", true, 10));
+    }
+}
@@ -0,0 +1,45 @@
+package dev.rocksdb.explorer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class ValueSizeSketchTest {
+
+    @Test
+    void shouldEstimateQuantilesWithinRelativeError() {
+        // Given
+        ValueSizeSketch sketch = new ValueSizeSketch();
+        for (int size = 1; size <= 100_000; size++) {
+            sketch.add(size);
+        }
+
+        // When/Then
+        assertWithin(50_000, sketch.quantile(0.5));
+        assertWithin(99_000, sketch.quantile(0.99));
+        assertEquals(100_000, sketch.max());
+    }
+
+    @Test
+    void shouldHandleEmptyValuesAndEmptySketch() {
+        // Given
+        ValueSizeSketch sketch = new ValueSizeSketch();
+
+        // Then
+        assertEquals(0, sketch.quantile(0.5));
+
+        // When
+        sketch.add(0);
+        sketch.add(0);
+        sketch.add(10);
+
+        // Then
+        assertEquals(0, sketch.quantile(0.5));
+        assertEquals(10, sketch.quantile(1.0));
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected * 0.02,
+            () -> "expected ~" + expected + " but was " + actual);
+    }
+}
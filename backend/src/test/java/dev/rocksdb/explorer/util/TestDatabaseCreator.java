@@ -5,26 +5,42 @@ import java.io.FileOutputStream;
 import java.nio.file.Path;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Random;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
+import org.rocksdb.FlushOptions;
 import org.rocksdb.Options;
 import org.rocksdb.RocksDB;
+import org.rocksdb.WriteOptions;
 
 public class TestDatabaseCreator {
     public static void main(String[] args) throws Exception {
-        createTestDatabase("small", 5);
-        createTestDatabase("medium", 10_000);      // ~2MB
-        createTestDatabase("large", 100_000);      // ~20MB
+        createTestDatabase(Path.of(""), "small", 5, 0);
+        createTestDatabase(Path.of(""), "medium", 10_000, 0);      // ~2MB
+        createTestDatabase(Path.of(""), "large", 100_000, 0);      // ~20MB
     }
 
-    private static void createTestDatabase(String size, int entries) throws Exception {
+    /**
+     * Creates {@code test-rocksdb-<size>.zip} in {@code directory} with
+     * {@code entries} user, metric and log entries. Each value gets a
+     * {@code padding} field of {@code valuePadding} random letters, so the
+     * same key layout can be generated with larger values.
+     */
+    public static Path createTestDatabase(Path directory, String size, int entries, int valuePadding)
+            throws Exception {
         System.out.println("Creating " + size + " database with " + entries + " entries...");
-        Path dbPath = Path.of("test-db-" + size);
+        Path dbPath = directory.resolve("test-db-" + size);
+        Path zipPath = directory.resolve("test-rocksdb-" + size + ".zip");
         dbPath.toFile().mkdirs();
+        Padding padding = new Padding(valuePadding);
+        int progressInterval = Math.max(1000, entries / 100);
 
+        // The WAL only slows down bulk loading; the final flush makes everything durable
         try (final Options options = new Options();
-             final RocksDB db = RocksDB.open(options.setCreateIfMissing(true), dbPath.toString())) {
+             final RocksDB db = RocksDB.open(options.setCreateIfMissing(true), dbPath.toString());
+             final WriteOptions writeOptions = new WriteOptions().setDisableWAL(true);
+             final FlushOptions flushOptions = new FlushOptions().setWaitForFlush(true)) {
             // Create entries with different patterns
             for (int i = 1; i <= entries; i++) {
                 // Users (20% of entries)
@@ -54,7 +70,7 @@ public class TestDatabaseCreator {
                         "}",
                         i, i, i, i, i, i * 10, i * 1024
                     );
-                    db.put(key.getBytes(), value.getBytes());
+                    db.put(writeOptions, key.getBytes(), padding.apply(value).getBytes());
                 }
                 // Metrics (40% of entries)
                 else if (i <= entries * 0.6) {
@@ -88,7 +104,7 @@ public class TestDatabaseCreator {
                         i % 100,
                         i % 10
                     );
-                    db.put(key.getBytes(), value.getBytes());
+                    db.put(writeOptions, key.getBytes(), padding.apply(value).getBytes());
                 }
                 // Logs (40% of entries)
                 else {
@@ -120,17 +136,18 @@ public class TestDatabaseCreator {
                         Math.random() * 1000,
                         i % 500
                     );
-                    db.put(key.getBytes(), value.getBytes());
+                    db.put(writeOptions, key.getBytes(), padding.apply(value).getBytes());
                 }
 
-                if (i % 1000 == 0) {
+                if (i % progressInterval == 0) {
                     System.out.println("Created " + i + " entries");
                 }
             }
+            db.flush(flushOptions);
         }
 
         // Create zip file
-        try (FileOutputStream fos = new FileOutputStream("test-rocksdb-" + size + ".zip");
+        try (FileOutputStream fos = new FileOutputStream(zipPath.toFile());
              ZipOutputStream zos = new ZipOutputStream(fos)) {
             zipDirectory(dbPath.toFile(), dbPath.toFile().getName(), zos);
         }
@@ -138,6 +155,37 @@ public class TestDatabaseCreator {
         // Cleanup
         deleteDirectory(dbPath.toFile());
         System.out.println(size + " database created successfully!");
+        return zipPath;
+    }
+
+    /**
+     * Appends random letters to JSON objects. They are taken at varying
+     * offsets from a fixed pool so that they do not compress away.
+     */
+    private static final class Padding {
+        private static final int POOL_SIZE = 1 << 16;
+        private final int length;
+        private final String pool;
+        private int offset;
+
+        Padding(int length) {
+            this.length = length;
+            Random random = new Random(42);
+            StringBuilder letters = new StringBuilder();
+            for (int i = 0; length > 0 && i < POOL_SIZE + length; i++) {
+                letters.append((char) ('a' + random.nextInt(26)));
+            }
+            this.pool = letters.toString();
+        }
+
+        String apply(String json) {
+            if (length == 0) {
+                return json;
+            }
+            offset = (offset + 7919) % POOL_SIZE;
+            return json.substring(0, json.length() - 1)
+                + ",\"padding\":\"" + pool.substring(offset, offset + length) + "\"}";
+        }
     }
 
     private static void zipDirectory(File folder, String baseName, ZipOutputStream zos) throws Exception {
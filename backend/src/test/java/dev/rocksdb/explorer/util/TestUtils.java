@@ -1,14 +1,104 @@
 package dev.rocksdb.explorer.util;
 
+import org.rocksdb.Cache;
+import org.rocksdb.ColumnFamilyDescriptor;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.DBOptions;
+import org.rocksdb.FlushOptions;
 import org.rocksdb.Options;
 import org.rocksdb.RocksDB;
+import org.rocksdb.Statistics;
 import java.nio.file.Path;
 import java.io.FileOutputStream;
 import java.util.zip.ZipOutputStream;
 import java.util.zip.ZipEntry;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+
+import dev.rocksdb.explorer.config.BlockCacheConfig;
+import dev.rocksdb.explorer.config.ExplorerProperties;
+import dev.rocksdb.explorer.decoder.Base64ValueDecoder;
+import dev.rocksdb.explorer.decoder.GzipValueDecoder;
+import dev.rocksdb.explorer.decoder.HexValueDecoder;
+import dev.rocksdb.explorer.decoder.Utf8ValueDecoder;
+import dev.rocksdb.explorer.decoder.ValueDecoders;
+import dev.rocksdb.explorer.decoder.VarintValueDecoder;
+import dev.rocksdb.explorer.service.ArchiveExtractor;
+import dev.rocksdb.explorer.service.DatabaseSessionRegistry;
+import dev.rocksdb.explorer.service.ExtractionCache;
+import dev.rocksdb.explorer.service.PipelineMetrics;
+import dev.rocksdb.explorer.service.RocksDBService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 
 public class TestUtils {
+    private static final ExecutorService EXTRACTION_EXECUTOR = Executors.newFixedThreadPool(
+        Runtime.getRuntime().availableProcessors(), Thread.ofPlatform().name("test-extract-", 1).daemon().factory());
+
+    /**
+     * Wires a {@link RocksDBService} the way Spring does, with its extraction
+     * cache kept under {@code tempDir}.
+     */
+    public static RocksDBService newRocksDBService(
+            DatabaseSessionRegistry registry, ExplorerProperties properties, Path tempDir) throws IOException {
+        properties.getCache().setDirectory(tempDir.resolve("cache"));
+        return new RocksDBService(registry, newArchiveExtractor(properties), new ExtractionCache(properties),
+            properties, blockCache(), statistics(), newPipelineMetrics());
+    }
+
+    /**
+     * An archive extractor inflating on one pool shared by every test, as the
+     * application shares its extraction executor.
+     */
+    public static ArchiveExtractor newArchiveExtractor(ExplorerProperties properties) {
+        return new ArchiveExtractor(properties, EXTRACTION_EXECUTOR);
+    }
+
+    /**
+     * The block cache shared by every test, like the application's singleton
+     * bean. It holds native memory, so it is created once rather than per test.
+     */
+    public static Cache blockCache() {
+        return SharedNativeState.BLOCK_CACHE;
+    }
+
+    /**
+     * The statistics shared by every test; see {@link #blockCache()}.
+     */
+    public static Statistics statistics() {
+        return SharedNativeState.STATISTICS;
+    }
+
+    private static final class SharedNativeState {
+        private static final BlockCacheConfig CONFIG = new BlockCacheConfig();
+        static final Cache BLOCK_CACHE = CONFIG.blockCache(new ExplorerProperties());
+        static final Statistics STATISTICS = CONFIG.statistics();
+    }
+
+    /**
+     * Pipeline metrics recorded into a throwaway registry.
+     */
+    public static PipelineMetrics newPipelineMetrics() {
+        return new PipelineMetrics(ObservationRegistry.NOOP, new SimpleMeterRegistry());
+    }
+
+    /**
+     * The built-in value decoders, configured by {@code properties}.
+     */
+    public static ValueDecoders newValueDecoders(ExplorerProperties properties) {
+        return new ValueDecoders(List.of(
+            new Utf8ValueDecoder(),
+            new HexValueDecoder(),
+            new Base64ValueDecoder(),
+            new VarintValueDecoder(),
+            new GzipValueDecoder(properties)
+        ), properties);
+    }
     
     public static Path createTestDatabase(Path tempDir) throws Exception {
         Path dbPath = tempDir.resolve("test-db");
@@ -63,6 +153,103 @@ public class TestUtils {
         return zipPath;
     }
 
+    /**
+     * Creates a zipped database holding exactly the given entries.
+     */
+    public static Path createTestDatabase(Path tempDir, Map<String, String> entries) throws Exception {
+        Path dbPath = tempDir.resolve("entries-db");
+        Path zipPath = tempDir.resolve("test-rocksdb-entries.zip");
+        dbPath.toFile().mkdirs();
+
+        try (final Options options = new Options().setCreateIfMissing(true);
+             final RocksDB db = RocksDB.open(options, dbPath.toString())) {
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                db.put(entry.getKey().getBytes(), entry.getValue().getBytes());
+            }
+        }
+
+        try (FileOutputStream fos = new FileOutputStream(zipPath.toFile());
+             ZipOutputStream zos = new ZipOutputStream(fos)) {
+            zipDirectory(dbPath.toFile(), dbPath.getFileName().toString(), zos);
+        }
+
+        return zipPath;
+    }
+
+    /**
+     * Creates a zipped database with {@code entries} keys of the form
+     * {@code key:000001} spread over {@code files} SST files.
+     */
+    public static Path createShardedTestDatabase(Path tempDir, int entries, int files) throws Exception {
+        return createShardedTestDatabase(tempDir, entries, files, i -> "value-" + i);
+    }
+
+    /**
+     * Like {@link #createShardedTestDatabase(Path, int, int)}, with the value
+     * of the {@code i}-th key given by {@code values}.
+     */
+    public static Path createShardedTestDatabase(Path tempDir, int entries, int files, IntFunction<String> values)
+            throws Exception {
+        Path dbPath = tempDir.resolve("sharded-db");
+        Path zipPath = tempDir.resolve("test-rocksdb-sharded.zip");
+        dbPath.toFile().mkdirs();
+
+        try (final Options options = new Options().setCreateIfMissing(true).setDisableAutoCompactions(true);
+             final RocksDB db = RocksDB.open(options, dbPath.toString());
+             final FlushOptions flushOptions = new FlushOptions().setWaitForFlush(true)) {
+            int perFile = Math.max(1, entries / files);
+            for (int i = 1; i <= entries; i++) {
+                db.put(String.format("key:%06d", i).getBytes(), values.apply(i).getBytes());
+                if (i % perFile == 0) {
+                    db.flush(flushOptions);
+                }
+            }
+            db.flush(flushOptions);
+        }
+
+        try (FileOutputStream fos = new FileOutputStream(zipPath.toFile());
+             ZipOutputStream zos = new ZipOutputStream(fos)) {
+            zipDirectory(dbPath.toFile(), dbPath.getFileName().toString(), zos);
+        }
+
+        return zipPath;
+    }
+
+    /**
+     * Creates a zipped database whose data lives in the named column families
+     * {@code users} and {@code metrics}; the default column family only holds
+     * {@code meta:version}.
+     */
+    public static Path createColumnFamilyTestDatabase(Path tempDir) throws Exception {
+        Path dbPath = tempDir.resolve("cf-db");
+        Path zipPath = tempDir.resolve("test-rocksdb-cf.zip");
+        dbPath.toFile().mkdirs();
+
+        List<ColumnFamilyDescriptor> descriptors = List.of(
+            new ColumnFamilyDescriptor(RocksDB.DEFAULT_COLUMN_FAMILY),
+            new ColumnFamilyDescriptor("users".getBytes()),
+            new ColumnFamilyDescriptor("metrics".getBytes()));
+        List<ColumnFamilyHandle> handles = new ArrayList<>();
+        try (final DBOptions options = new DBOptions().setCreateIfMissing(true).setCreateMissingColumnFamilies(true);
+             final RocksDB db = RocksDB.open(options, dbPath.toString(), descriptors, handles)) {
+            db.put(handles.get(0), "meta:version".getBytes(), "1".getBytes());
+            for (int i = 1; i <= 3; i++) {
+                db.put(handles.get(1), String.format("user:%06d", i).getBytes(), ("User " + i).getBytes());
+            }
+            for (int i = 1; i <= 5; i++) {
+                db.put(handles.get(2), String.format("cpu:%06d", i).getBytes(), Integer.toString(i * 10).getBytes());
+            }
+            handles.forEach(ColumnFamilyHandle::close);
+        }
+
+        try (FileOutputStream fos = new FileOutputStream(zipPath.toFile());
+             ZipOutputStream zos = new ZipOutputStream(fos)) {
+            zipDirectory(dbPath.toFile(), dbPath.getFileName().toString(), zos);
+        }
+
+        return zipPath;
+    }
+
     private static void zipDirectory(java.io.File folder, String baseName, ZipOutputStream zos) throws IOException {
         java.io.File[] files = folder.listFiles();
         if (files != null) {